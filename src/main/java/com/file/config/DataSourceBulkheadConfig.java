@@ -0,0 +1,25 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    DataSource 동시 사용 제한(bulkhead) 설정 클래스
+    가상 스레드 모드에서는 요청 수만큼 스레드가 생기므로, 커넥션 풀에 한꺼번에 몰리지 않도록 앞단에서 제한
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.datasource.bulkhead")
+public class DataSourceBulkheadConfig {
+
+    // 지정하지 않으면 가상 스레드로 요청을 처리할 때만 켜짐
+    // (spring.threads.virtual.enabled=true이고 Java 21 이상. Java 17에서는 설정이 켜져 있어도 플랫폼 스레드로 동작)
+    private Boolean enabled;
+
+    // 동시에 커넥션을 가질 수 있는 요청 수 (커넥션 풀 크기 이하로)
+    private int maxConcurrent = 10;
+
+    // 자리가 날 때까지 기다리는 최대 시간 (ms). 넘으면 바로 실패
+    private long acquireTimeoutMs = 2000L;
+}
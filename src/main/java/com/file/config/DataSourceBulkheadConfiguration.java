@@ -0,0 +1,78 @@
+package com.file.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
+import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import javax.sql.DataSource;
+
+/*
+    DataSource bulkhead 구성
+    bulkhead가 켜져 있으면 애플리케이션이 쓰는 dataSource 빈을 BulkheadDataSource로 감쌈
+    (기본 자동 구성 DataSource와 읽기/쓰기 라우팅 DataSource 모두 적용)
+    file.datasource.bulkhead.enabled를 지정하면 그 값을 따르고, 없으면 실제로 가상 스레드를 쓸 때만 켬
+ */
+@Configuration
+@Conditional(DataSourceBulkheadConfiguration.BulkheadEnabledCondition.class)
+public class DataSourceBulkheadConfiguration {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // 다른 빈보다 먼저 만들어지는 후처리기이므로 static, 설정은 사용 시점에 조회
+    @Bean
+    public static BeanPostProcessor dataSourceBulkheadPostProcessor(ObjectProvider<DataSourceBulkheadConfig> config) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource) || bean instanceof BulkheadDataSource) {
+                    return bean;
+                }
+                DataSourceBulkheadConfig bulkhead = config.getObject();
+                return new BulkheadDataSource((DataSource) bean, bulkhead.getMaxConcurrent(), bulkhead.getAcquireTimeoutMs());
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceBulkheadMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(BulkheadDataSource.class::isInstance)
+                .map(BulkheadDataSource.class::cast)
+                .forEach(dataSource -> {
+                    Gauge.builder("datasource.bulkhead.in.use", dataSource, BulkheadDataSource::getInUse)
+                            .description("Connections currently held through the DB bulkhead")
+                            .register(registry);
+                    Gauge.builder("datasource.bulkhead.waiting", dataSource, BulkheadDataSource::getWaiting)
+                            .description("Threads waiting for a DB bulkhead permit")
+                            .register(registry);
+                    Gauge.builder("datasource.bulkhead.max", dataSource, BulkheadDataSource::getMaxConcurrent)
+                            .register(registry);
+                    FunctionCounter.builder("datasource.bulkhead.rejected", dataSource, BulkheadDataSource::getRejected)
+                            .description("Connection requests rejected because the DB bulkhead stayed full")
+                            .register(registry);
+                });
+    }
+
+    // spring.threads.virtual.enabled만 보면 Java 17에서도 켜지므로 Threading.VIRTUAL로 실제 사용 여부 확인
+    static class BulkheadEnabledCondition extends SpringBootCondition {
+        @Override
+        public ConditionOutcome getMatchOutcome(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            Boolean enabled = context.getEnvironment().getProperty("file.datasource.bulkhead.enabled", Boolean.class);
+            if (enabled != null) {
+                return new ConditionOutcome(enabled, "file.datasource.bulkhead.enabled=" + enabled);
+            }
+            boolean virtual = Threading.VIRTUAL.isActive(context.getEnvironment());
+            return new ConditionOutcome(virtual, "virtual threads " + (virtual ? "active" : "not active"));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    읽기 전용 트랜잭션 복제본(replica) 라우팅 설정 클래스
+    enabled=false면 기존처럼 spring.datasource 하나만 사용
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.datasource.routing")
+public class DataSourceRoutingConfig {
+
+    // 복제본 라우팅 사용 여부
+    private boolean enabled = false;
+
+    // 읽기 전용 트랜잭션을 보낼 복제본 목록 (라운드로빈)
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 복제본 상태 확인 주기 (ms)
+    private long healthCheckIntervalMs = 5000L;
+
+    // 상태 확인 시 Connection.isValid 대기 시간 (초)
+    private int healthCheckTimeoutSeconds = 2;
+
+    // 복제본 커넥션 획득 대기 시간 (ms). 짧게 두고 실패 시 바로 primary로 넘김
+    private long replicaConnectionTimeoutMs = 1000L;
+
+    // 관리자 정책 변경 직후 읽기도 primary로 보내는 시간 (ms). 0이면 사용 안 함
+    private long readYourWritesMs = 0L;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
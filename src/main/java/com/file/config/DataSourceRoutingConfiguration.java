@@ -0,0 +1,92 @@
+package com.file.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/*
+    읽기/쓰기 DataSource 라우팅 구성
+    file.datasource.routing.enabled=true일 때만 기본 DataSource 자동 구성을 대체
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "file.datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+    // 쓰기(primary) 풀. spring.datasource.* / spring.datasource.hikari.* 설정을 그대로 사용
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        meterRegistry.ifAvailable(registry -> dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                          DataSourceRoutingConfig config,
+                                                          ReadYourWritesWindow readYourWritesWindow,
+                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        List<HikariDataSource> replicas = config.getReplicas().stream()
+                .map(replica -> replicaDataSource(replica, config, registry))
+                .toList();
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesWindow, config, registry);
+    }
+
+    // JPA/JdbcTemplate이 사용하는 DataSource. 첫 SQL 실행 시점까지 커넥션 획득을 미뤄서
+    // 트랜잭션의 readOnly 여부가 정해진 뒤에 라우팅되도록 함
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public HealthIndicator readReplicasHealthIndicator(ReadReplicaRoutingDataSource routingDataSource) {
+        // 복제본이 모두 빠져도 primary로 처리되므로 UP 유지, 상세에 대체 여부 표시
+        return () -> Health.up()
+                .withDetail("failover", !routingDataSource.hasHealthyReplica())
+                .withDetails(routingDataSource.describe())
+                .build();
+    }
+
+    private static HikariDataSource replicaDataSource(DataSourceRoutingConfig.Replica replica,
+                                                      DataSourceRoutingConfig config,
+                                                      MeterRegistry registry) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("replica-" + replica.getName());
+        hikari.setJdbcUrl(replica.getUrl());
+        hikari.setUsername(replica.getUsername());
+        hikari.setPassword(replica.getPassword());
+        if (replica.getDriverClassName() != null) {
+            hikari.setDriverClassName(replica.getDriverClassName());
+        }
+        hikari.setMaximumPoolSize(replica.getMaximumPoolSize());
+        hikari.setReadOnly(true);
+        hikari.setConnectionTimeout(config.getReplicaConnectionTimeoutMs());
+        // 복제본이 내려가 있어도 애플리케이션은 기동 (상태 확인에서 제외됨)
+        hikari.setInitializationFailTimeout(-1);
+        if (registry != null) {
+            hikari.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return new HikariDataSource(hikari);
+    }
+}
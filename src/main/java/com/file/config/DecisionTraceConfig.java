@@ -0,0 +1,20 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    업로드 판정 추적(decision trace) 설정 클래스
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.trace")
+public class DecisionTraceConfig {
+
+    // 요청 헤더(X-Decision-Trace: true)로 추적을 요청할 수 있는지 여부
+    private boolean requestEnabled = true;
+
+    // 운영 트래픽 샘플링 비율 (0.0 ~ 1.0). 샘플링된 추적은 decision-trace 로거로 내보냄
+    private double sampleRate = 0.0;
+}
@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /*
@@ -22,4 +23,25 @@ public class ExtensionPolicyConfig {
 
     // 확장자명 최대 길이
     private int maxExtensionLength = 20;
+
+    // 정책 일괄 변경 1회 최대 작업 수
+    private int maxBatchOperations = 500;
+
+    // 설정 파일 재적용 시 현재 값을 바탕으로 새 값을 바인딩하기 위한 복사본
+    public ExtensionPolicyConfig copy() {
+        ExtensionPolicyConfig copy = new ExtensionPolicyConfig();
+        copy.setFixedExtensions(fixedExtensions == null ? null : new ArrayList<>(fixedExtensions));
+        copy.setMaxCustomExtensions(maxCustomExtensions);
+        copy.setMaxExtensionLength(maxExtensionLength);
+        copy.setMaxBatchOperations(maxBatchOperations);
+        return copy;
+    }
+
+    // 재적용이 DB 반영까지 성공한 뒤 새 값으로 교체
+    public void apply(ExtensionPolicyConfig source) {
+        setFixedExtensions(List.copyOf(source.getFixedExtensions()));
+        setMaxCustomExtensions(source.getMaxCustomExtensions());
+        setMaxExtensionLength(source.getMaxExtensionLength());
+        setMaxBatchOperations(source.getMaxBatchOperations());
+    }
 }
@@ -0,0 +1,23 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    가상 스레드 carrier 고정(pinning) 진단 설정 클래스
+    spring.threads.virtual.enabled=true (Java 21 이상)일 때만 동작
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.threads.pinning-monitor")
+public class PinningMonitorConfig {
+
+    private boolean enabled = true;
+
+    // 이 시간 이상 고정된 경우만 기록 (ms)
+    private long thresholdMs = 20L;
+
+    // 같은 위치의 고정 경고 로그 최소 간격 (ms)
+    private long logIntervalMs = 10000L;
+}
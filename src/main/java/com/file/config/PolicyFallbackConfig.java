@@ -0,0 +1,34 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    DB 장애 시 확장자 정책 판정 설정 클래스
+    - 마지막으로 정상 로딩한 정책을 로컬 파일에 보관해서 DB 없이도 판정
+    - 정책 로딩 회로 차단기 (연속 실패 시 일정 시간 DB 조회 중단)
+    - 로컬 스냅샷도 없을 때의 판정 방식
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.extension.fallback")
+public class PolicyFallbackConfig {
+
+    // 정책 없이 판정해야 할 때: OPEN = 모두 허용, CLOSED = 모두 차단
+    public enum FailMode { OPEN, CLOSED }
+
+    // 마지막 정상 정책 저장 파일
+    private String snapshotLocation = "storage/policy-snapshot.json";
+
+    private FailMode failMode = FailMode.CLOSED;
+
+    // 연속 실패가 이 횟수에 도달하면 회로 열림
+    private int failureThreshold = 3;
+
+    // 회로가 열린 뒤 다시 시도하기까지 대기 시간 (ms)
+    private long openDurationMs = 30000L;
+
+    // 정책 로딩 제한 시간 (초). 커넥션 풀 대기 시간까지 포함
+    private int loadTimeoutSeconds = 5;
+}
@@ -0,0 +1,28 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    확장자 정책 갱신 설정 클래스
+    - 설정 파일 감시 후 재적용 (재시작 없이 file.extension.policy.* 반영)
+    - 다른 인스턴스에서 바뀐 DB 정책 버전 확인 주기
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.extension.refresh")
+public class PolicyRefreshConfig {
+
+    // 설정 파일 감시 사용 여부
+    private boolean watchEnabled = true;
+
+    // 감시할 설정 파일 (Spring Boot가 기본으로 읽는 외부 설정 위치)
+    private String watchLocation = "config/application.yaml";
+
+    // 저장 직후 여러 번 들어오는 변경 이벤트를 하나로 묶는 대기 시간 (ms)
+    private long debounceMs = 200L;
+
+    // DB 정책 버전 확인 주기 (ms). 0이면 사용 안 함
+    private long dbPollIntervalMs = 5000L;
+}
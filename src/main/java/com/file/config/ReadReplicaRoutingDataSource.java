@@ -0,0 +1,217 @@
+package com.file.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    읽기 전용 트랜잭션은 복제본으로, 나머지는 primary로 보내는 DataSource
+
+    - 커넥션을 실제로 가져오는 시점에 트랜잭션의 readOnly 여부를 보고 대상을 고름
+      (LazyConnectionDataSourceProxy로 감싸야 트랜잭션 시작 후에 판단됨)
+    - 주기적인 상태 확인 또는 커넥션 획득 실패로 내려간 복제본은 건너뛰고,
+      사용할 수 있는 복제본이 없으면 primary로 보냄
+    - 관리자 정책 변경 직후(ReadYourWritesWindow)에는 읽기도 primary로 보냄
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final ReadYourWritesWindow readYourWritesWindow;
+    private final int healthCheckTimeoutSeconds;
+
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final Map<String, LongAdder> acquisitions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadReplicaRoutingDataSource(HikariDataSource primary,
+                                        List<HikariDataSource> replicaDataSources,
+                                        ReadYourWritesWindow readYourWritesWindow,
+                                        DataSourceRoutingConfig config,
+                                        MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaDataSources.stream().map(ReplicaPool::new).toList();
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.healthCheckTimeoutSeconds = config.getHealthCheckTimeoutSeconds();
+
+        acquisitions.put(PRIMARY, new LongAdder());
+        for (ReplicaPool replica : replicas) {
+            acquisitions.put(replica.name, new LongAdder());
+        }
+        registerMetrics(meterRegistry);
+
+        // 시작 시 한 번 확인해서 처음부터 죽어있는 복제본으로 보내지 않도록 함
+        checkReplicas();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-health-");
+        threadFactory.setDaemon(true);
+        healthChecker = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        long interval = config.getHealthCheckIntervalMs();
+        healthChecker.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaPool replica = selectReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                acquisitions.get(replica.name).increment();
+                return connection;
+            } catch (SQLException e) {
+                // 다음 상태 확인 전까지 이 복제본은 건너뛰고 이번 요청은 primary로
+                replica.markDown(e.getMessage());
+            }
+        }
+        Connection connection = primary.getConnection();
+        acquisitions.get(PRIMARY).increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = primary.getConnection(username, password);
+        acquisitions.get(PRIMARY).increment();
+        return connection;
+    }
+
+    /**
+     * 복제본 상태 확인
+     *
+     * 각 복제본에서 커넥션을 하나 꺼내 isValid로 확인합니다.
+     * 실패한 복제본은 라우팅 대상에서 빠지고, 다시 성공하면 자동으로 복귀합니다.
+     */
+    public void checkReplicas() {
+        for (ReplicaPool replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(healthCheckTimeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown("isValid=false");
+                }
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    // 풀별 커넥션 획득 누적 수
+    public long getAcquisitionCount(String pool) {
+        LongAdder adder = acquisitions.get(pool);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    // 복제본별 상태 (상태 확인 엔드포인트용)
+    public Map<String, Object> describe() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put(PRIMARY, poolDetails(primary, true));
+        for (ReplicaPool replica : replicas) {
+            details.put(replica.name, poolDetails(replica.dataSource, replica.healthy));
+        }
+        return details;
+    }
+
+    public boolean hasHealthyReplica() {
+        return replicas.stream().anyMatch(replica -> replica.healthy);
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private ReplicaPool selectReplica() {
+        if (replicas.isEmpty()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWritesWindow.isActive()) {
+            return null;
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            ReplicaPool replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        acquisitions.forEach((pool, adder) -> FunctionCounter.builder("datasource.routing.connections", adder, LongAdder::sum)
+                .description("Connections handed out by the read/write routing data source")
+                .tag("pool", pool)
+                .register(meterRegistry));
+        for (ReplicaPool replica : replicas) {
+            Gauge.builder("datasource.routing.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 if the replica is receiving read-only transactions")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Map<String, Object> poolDetails(HikariDataSource dataSource, boolean healthy) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("healthy", healthy);
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            details.put("active", pool.getActiveConnections());
+            details.put("idle", pool.getIdleConnections());
+            details.put("total", pool.getTotalConnections());
+            details.put("waiting", pool.getThreadsAwaitingConnection());
+        }
+        return details;
+    }
+
+    private static final class ReplicaPool {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = false;
+
+        private ReplicaPool(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("복제본 사용 시작: {}", name);
+            }
+            healthy = true;
+        }
+
+        void markDown(String reason) {
+            if (healthy) {
+                log.warn("복제본 제외 (primary로 대체): {} - {}", name, reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.file.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/*
+    관리자 정책 변경 직후 일정 시간 동안 읽기를 primary로 보내기 위한 창
+    복제 지연 때문에 방금 바꾼 정책이 화면에 반영되지 않는 문제를 막음 (인스턴스 단위)
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesWindow {
+
+    private final DataSourceRoutingConfig dataSourceRoutingConfig;
+
+    private volatile long primaryUntilNanos = 0L;
+
+    // 정책 변경 커밋 직후 호출
+    public void markWrite() {
+        long windowMs = dataSourceRoutingConfig.getReadYourWritesMs();
+        if (windowMs > 0) {
+            primaryUntilNanos = System.nanoTime() + windowMs * 1_000_000L;
+        }
+    }
+
+    public boolean isActive() {
+        long until = primaryUntilNanos;
+        return until != 0L && System.nanoTime() - until < 0;
+    }
+}
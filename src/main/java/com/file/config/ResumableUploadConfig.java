@@ -0,0 +1,32 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    이어 올리기(분할 업로드) 세션 설정 클래스
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.resumable")
+public class ResumableUploadConfig {
+
+    // 받는 중인 파일을 두는 디렉터리 (저장소 root와 같은 파일시스템이면 완료 시 이름 변경만 일어남)
+    private String location = "storage/sessions";
+
+    // 세션 하나에 선언할 수 있는 최대 파일 크기 (byte)
+    private long maxSizeBytes = 10L * 1024 * 1024 * 1024;
+
+    // 동시에 열어 둘 수 있는 세션 수
+    private int maxSessions = 1000;
+
+    // 마지막 조각 이후 이 시간 동안 이어 올리지 않으면 세션과 받은 파일 삭제 (ms)
+    private long expireAfterMs = 24 * 60 * 60 * 1000L;
+
+    // 만료 세션 정리 주기 (ms). 0이면 사용 안 함
+    private long sweepIntervalMs = 60 * 1000L;
+
+    // 요청 본문을 읽어 파일에 쓰는 버퍼 크기 (byte, 요청마다 하나)
+    private int bufferSize = 64 * 1024;
+}
@@ -0,0 +1,38 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    업로드 판정 실시간 피드(SSE) 설정 클래스
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.events")
+public class UploadEventConfig {
+
+    // 재접속(Last-Event-ID) 시 다시 보내줄 수 있도록 메모리에 보관하는 최근 이벤트 수
+    private int replaySize = 1000;
+
+    // 구독자별 전송 대기열 크기 (가득 차면 느린 구독자로 보고 연결 종료)
+    private int subscriberQueueSize = 256;
+
+    // 동시 구독자 최대 수
+    private int maxSubscribers = 10000;
+
+    // 구독자 대기열을 비워주는 전송 스레드 수 (연결 수와 무관하게 고정)
+    private int dispatchThreads = 4;
+
+    // 전송 하나가 이 시간(ms)을 넘게 멈추면 느린 구독자로 보고 연결 종료 (전송 스레드를 붙잡지 못하게)
+    private long sendTimeoutMs = 10_000L;
+
+    // 멈춘 전송이 풀릴 때까지 보충하는 전송 스레드 최대 수 (넘으면 보충 없이 연결만 떼어냄)
+    private int maxStalledSenders = 2;
+
+    // SSE 연결 유지 시간 (ms). 만료되면 브라우저가 Last-Event-ID로 재접속
+    private long emitterTimeoutMs = 30 * 60 * 1000L;
+
+    // 끊긴 연결을 감지하기 위한 heartbeat 주기 (ms)
+    private long heartbeatIntervalMs = 15_000L;
+}
@@ -0,0 +1,24 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    업로드 이력 내보내기(CSV/NDJSON) 설정 클래스
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.export")
+public class UploadExportConfig {
+
+    // 한 번에 DB에서 가져올 행 수
+    // MySQL은 URL에 useCursorFetch=true가 있을 때만 적용되고, 없으면 행 단위 스트리밍(Integer.MIN_VALUE)으로 읽음
+    private int fetchSize = 1000;
+
+    // 응답 출력 버퍼 크기 (byte)
+    private int bufferSize = 64 * 1024;
+
+    // 내보내기 요청 하나의 제한 시간 (ms, 0 이하면 제한 없음). 내보내기 엔드포인트에만 적용
+    private long timeoutMs = 30 * 60 * 1000L;
+}
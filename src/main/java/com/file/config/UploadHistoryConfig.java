@@ -0,0 +1,21 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    업로드 이력 기록 설정 클래스
+    - 이력은 업로드 요청 스레드가 아니라 백그라운드 스레드가 모아서 저장
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.history")
+public class UploadHistoryConfig {
+
+    // 저장 대기열 크기. 가득 차면(DB 지연/장애) 새 이력은 버리고 개수만 셈
+    private int queueSize = 10000;
+
+    // 한 트랜잭션에 함께 저장할 최대 이력 수
+    private int batchSize = 100;
+}
@@ -0,0 +1,57 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    업로드 검사 파이프라인 설정 클래스
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.scan")
+public class UploadScanConfig {
+
+    // 시간 초과/오류가 난 검사 단계의 처리: BLOCK = 차단으로 간주, ALLOW = 통과로 간주
+    public enum FailureAction { BLOCK, ALLOW }
+
+    // 동시 실행 단계(외부 검사기 등)용 스레드 수
+    private int threads = 8;
+
+    // 단계가 제한 시간을 선언하지 않았을 때 적용할 제한 시간 (ms)
+    private long defaultTimeoutMs = 5000L;
+
+    private FailureAction failureAction = FailureAction.BLOCK;
+
+    // 파일 크기 제한 (byte). 0이면 검사 안 함
+    private long maxSizeBytes = 0L;
+
+    private ContentSignature contentSignature = new ContentSignature();
+
+    private External external = new External();
+
+    // 파일 앞부분(매직 넘버)으로 실행 파일 감지
+    @Data
+    public static class ContentSignature {
+        private boolean enabled = true;
+
+        // 차단할 형식 (PE, ELF, MACH_O, JAVA_CLASS, SCRIPT)
+        private List<String> blocked = new ArrayList<>(List.of("PE", "ELF", "MACH_O", "JAVA_CLASS"));
+    }
+
+    // 외부 검사 프로세스 (예: clamdscan). 종료 코드 0 = 통과, 1 = 차단, 그 외 = 오류
+    @Data
+    public static class External {
+
+        // 실행할 명령. {file}은 검사할 파일 경로로 바뀌고, 없으면 마지막 인자로 붙음. 비어 있으면 사용 안 함
+        private List<String> command = new ArrayList<>();
+
+        private long timeoutMs = 30000L;
+
+        // 실행 순서 (낮을수록 먼저)
+        private int cost = 1000;
+    }
+}
@@ -0,0 +1,32 @@
+package com.file.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/*
+    허용된 업로드 파일 저장소(내용 주소 기반, 중복 제거) 설정 클래스
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.upload.storage")
+public class UploadStorageConfig {
+
+    // 허용된 파일 저장 여부
+    private boolean enabled = true;
+
+    // 저장소 루트. multipart 임시 파일과 같은 파일시스템이면 복사 없이 이름 변경으로 옮겨짐
+    private String root = "storage";
+
+    // 파일 내용 해시 알고리즘 (저장 경로 = 해시값)
+    private String digestAlgorithm = "SHA-256";
+
+    // 해시 계산용 direct buffer 크기 (byte)
+    private int bufferSize = 256 * 1024;
+
+    // 참조가 0이 된 뒤 실제로 지우기까지 유예 시간 (ms)
+    private long gcGracePeriodMs = 60 * 60 * 1000L;
+
+    // 가비지 컬렉션 주기 (ms). 0이면 사용 안 함
+    private long gcIntervalMs = 10 * 60 * 1000L;
+}
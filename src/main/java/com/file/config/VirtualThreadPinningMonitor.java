@@ -0,0 +1,130 @@
+package com.file.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/*
+    가상 스레드 carrier 고정(pinning) 감시
+
+    - synchronized 블록 안에서 I/O나 잠금 대기로 멈추면 가상 스레드가 carrier 스레드를 붙잡고 있게 됨
+      (JDBC 드라이버 내부, 라이브러리 코드 포함)
+    - JFR의 jdk.VirtualThreadPinned 이벤트를 구독해서 고정된 위치와 시간을 로그/지표로 남김
+    - spring.threads.virtual.enabled=true이고 Java 21 이상에서 실행할 때만 등록됨
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    private static final List<String> RUNTIME_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+    private final PinningMonitorConfig pinningMonitorConfig;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final Map<String, Long> lastLogged = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+    private Counter pinnedCounter;
+    private Timer pinnedTimer;
+
+    @PostConstruct
+    public void start() {
+        if (!pinningMonitorConfig.isEnabled()) {
+            return;
+        }
+        meterRegistry.ifAvailable(registry -> {
+            pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                    .description("Virtual threads that blocked while pinned to their carrier thread")
+                    .register(registry);
+            pinnedTimer = Timer.builder("jvm.threads.virtual.pinned.duration")
+                    .description("Time virtual threads spent blocked while pinned")
+                    .register(registry);
+        });
+
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT)
+                    .withThreshold(Duration.ofMillis(pinningMonitorConfig.getThresholdMs()))
+                    .withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            log.info("가상 스레드 고정 감시 시작 (기준 {}ms)", pinningMonitorConfig.getThresholdMs());
+        } catch (RuntimeException e) {
+            // JFR을 쓸 수 없는 런타임 (-Djdk.tracePinnedThreads=full 로 대신 확인 가능)
+            log.warn("가상 스레드 고정 감시 시작 실패: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        if (pinnedCounter != null) {
+            pinnedCounter.increment();
+            pinnedTimer.record(duration);
+        }
+
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = applicationFrame(frames);
+        long now = System.currentTimeMillis();
+        Long previous = lastLogged.get(site);
+        if (previous != null && now - previous < pinningMonitorConfig.getLogIntervalMs()) {
+            return;
+        }
+        lastLogged.put(site, now);
+
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n    at "));
+        log.warn("가상 스레드 carrier 고정 {}ms: {}\n    at {}", duration.toMillis(), site, stack);
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    // 런타임 내부가 아닌 첫 호출 위치 (같은 위치의 로그를 묶는 기준)
+    private static String applicationFrame(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (RUNTIME_PACKAGES.stream().noneMatch(type::startsWith)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
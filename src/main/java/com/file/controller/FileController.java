@@ -4,16 +4,42 @@ import com.file.entity.CustomExtension;
 import com.file.entity.FixedExtension;
 import com.file.entity.UploadHistory;
 import com.file.service.CustomExtensionService;
+import com.file.service.DecisionTraceService;
+import com.file.service.ExtensionPolicyReloader;
+import com.file.service.FileStorageService;
 import com.file.service.FileUploadService;
 import com.file.service.FixedExtensionService;
+import com.file.service.PolicyBatchService;
+import com.file.service.PolicyMutationException;
+import com.file.service.PolicySimulationService;
+import com.file.service.ResumableUploadException;
+import com.file.service.ResumableUploadService;
+import com.file.service.UploadHistoryExportService;
+import com.file.service.UploadEventService;
+import com.file.service.UploadScanContext;
+import com.file.service.UploadScanPipeline;
 import com.file.config.ExtensionPolicyConfig;
+import com.file.config.UploadExportConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,10 +50,26 @@ import java.util.Map;
 @RequestMapping("/api") // 모든 API는 /api 하위로
 public class FileController {
 
+    // 판정 추적 요청/응답 헤더
+    private static final String DECISION_TRACE_HEADER = "X-Decision-Trace";
+    // 이어 올리기: 조각의 시작 위치(요청) / 지금까지 받은 위치(응답)
+    private static final String UPLOAD_OFFSET_HEADER = "Upload-Offset";
+    private static final String UPLOAD_LENGTH_HEADER = "Upload-Length";
+
     private final FixedExtensionService fixedExtensionService;
     private final CustomExtensionService customExtensionService;
     private final FileUploadService uploadService;
+    private final UploadEventService uploadEventService;
+    private final FileStorageService fileStorageService;
+    private final UploadScanPipeline uploadScanPipeline;
+    private final ResumableUploadService resumableUploadService;
+    private final UploadHistoryExportService uploadHistoryExportService;
+    private final DecisionTraceService decisionTraceService;
+    private final PolicyBatchService policyBatchService;
+    private final PolicySimulationService policySimulationService;
+    private final ExtensionPolicyReloader extensionPolicyReloader;
     private final ExtensionPolicyConfig extensionPolicyConfig;
+    private final UploadExportConfig uploadExportConfig;
 
 
 // =============================
@@ -91,30 +133,183 @@ public class FileController {
         map.put("maxExtensionLength", extensionPolicyConfig.getMaxExtensionLength());
         map.put("maxCustomExtensions", extensionPolicyConfig.getMaxCustomExtensions());
         map.put("fixedConfigured", fixedExtensionService.getConfiguredFixedExtensions());
+        map.put("maxBatchOperations", extensionPolicyConfig.getMaxBatchOperations());
         return ResponseEntity.ok(new ApiResponse<>(true, "정책 조회", map));
     }
 
+    // 정책 설정 파일 즉시 재적용 (파일 감시를 쓸 수 없는 환경용)
+    @PostMapping("/policy/reload")
+    public ResponseEntity<ApiResponse<List<String>>> reloadPolicy() {
+        List<String> changes = extensionPolicyReloader.reload();
+        String msg = !changes.isEmpty() ? "설정 재적용 완료"
+                : extensionPolicyReloader.isRetryPending() ? "DB 반영 실패로 보류 (자동 재시도, 감사 로그 확인)"
+                : "변경 없음 (또는 검증 실패, 감사 로그 확인)";
+        return ResponseEntity.ok(new ApiResponse<>(true, msg, changes));
+    }
+
+    // 정책 일괄 변경 (토글/추가/삭제를 하나의 트랜잭션, 하나의 정책 버전으로 적용)
+    @PostMapping("/policy/batch")
+    public ResponseEntity<ApiResponse<PolicyBatchResponse>> applyPolicyBatch(@RequestBody PolicyBatchRequest req) {
+        try {
+            PolicyBatchResponse result = policyBatchService.applyBatch(req.getOperations());
+            return ResponseEntity.ok(new ApiResponse<>(true, "일괄 변경 완료", result));
+        } catch (PolicyMutationException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        } catch (DataIntegrityViolationException e) {
+            // 제약 조건 위반 (정상 경로에서는 정책 상태 행 잠금으로 발생하지 않음)
+            log.warn("정책 일괄 변경 제약 조건 위반", e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(false, "동시 변경 충돌. 다시 시도해 주세요", null));
+        }
+    }
+
+    /**
+     * 정책 변경 영향 미리보기 (드라이런, 실제 정책은 바뀌지 않음)
+     *
+     * /api/policy/batch와 같은 형식의 작업 목록을 기간 내 업로드 이력에 적용해 보고,
+     * 새로 차단/허용되는 시도 수를 확장자별로 반환합니다.
+     */
+    @PostMapping("/policy/simulate")
+    public ResponseEntity<ApiResponse<PolicySimulationResponse>> simulatePolicy(@RequestBody PolicySimulationRequest req) {
+        if (req.getFrom() == null || req.getTo() == null || !req.getFrom().isBefore(req.getTo())) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, "기간(from < to) 필수", null));
+        }
+        try {
+            PolicySimulationResponse result = policySimulationService.simulate(req.getFrom(), req.getTo(), req.getOperations());
+            return ResponseEntity.ok(new ApiResponse<>(true, "정책 영향 시뮬레이션", result));
+        } catch (PolicyMutationException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     // =============================
     // 업로드 테스트 (멀티파트)
     // =============================
     @PostMapping(path = "/upload-test", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<UploadTestResponse>> uploadTest(
             @RequestParam("title") String title,
-            @RequestParam("file") MultipartFile file
+            @RequestParam("file") MultipartFile file,
+            @RequestHeader(value = DECISION_TRACE_HEADER, defaultValue = "false") boolean traceRequested
     ) {
         String originalName = file.getOriginalFilename();
-        boolean allowed = uploadService.isFileUploadAllowed(originalName);
+        // 요청했거나 샘플링된 경우에만 추적 객체 생성 (그 외 null)
+        DecisionTrace trace = decisionTraceService.start(traceRequested);
+
+        UploadScanReport report;
+        String digest = null;
+        try (UploadScanContext context = UploadScanContext.ofMultipart(file, fileStorageService, trace)) {
+            // 검사 단계를 비용 순서로 실행 (확장자 정책 → 크기 → 내용 형식 → 외부 검사기)
+            report = uploadScanPipeline.scan(context);
+            // 허용된 파일만 저장 (같은 내용은 한 번만 저장, 검사 중 staging에 둔 파일은 그대로 사용)
+            if (report.isAllowed()) {
+                digest = fileStorageService.store(file, context.getStagedPath());
+            }
+        }
+        boolean allowed = report.isAllowed();
         // 이력 기록
-        uploadService.recordUploadAttempt(originalName, allowed);
+        uploadService.recordUploadAttempt(originalName, allowed, digest);
 
         String ext = null;
         if (originalName != null && originalName.contains(".")) {
             ext = originalName.substring(originalName.lastIndexOf('.') + 1).toLowerCase();
         }
         UploadTestResponse body = new UploadTestResponse(originalName, ext, allowed);
+        body.setStoredDigest(digest);
+        body.setBlockedBy(report.getBlockedBy());
+        body.setBlockReason(report.getReason());
+        body.setScan(report.getStages());
         String msg = allowed ? "허용" : "차단";
 
-        return ResponseEntity.ok(new ApiResponse<>(true, "업로드 테스트: " + msg, body));
+        if (trace == null) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "업로드 테스트: " + msg, body));
+        }
+
+        decisionTraceService.export(trace);
+        if (!traceRequested) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "업로드 테스트: " + msg, body));
+        }
+        body.setTrace(trace);
+        return ResponseEntity.ok()
+                .header(DECISION_TRACE_HEADER, trace.toHeaderValue())
+                .body(new ApiResponse<>(true, "업로드 테스트: " + msg, body));
+    }
+
+    // =============================
+    // 이어 올리기 (10MB 넘는 파일을 조각으로)
+    // =============================
+
+    /**
+     * 이어 올리기 세션 생성
+     *
+     * 파일명/크기 검사에서 차단이면 본문을 보내기 전에 403으로 거부합니다.
+     * 허용이면 201과 함께 세션 주소(Location)를 반환하고, 이후 PATCH로 조각을 보냅니다.
+     */
+    @PostMapping("/uploads")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createUploadSession(@RequestBody UploadSessionRequest req) {
+        try {
+            UploadSessionResponse session = resumableUploadService.create(req.getFileName(), req.getContentType(), req.getSize());
+            if (session.getUploadId() == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>(false, "업로드 차단", session));
+            }
+            return ResponseEntity.created(URI.create("/api/uploads/" + session.getUploadId()))
+                    .header(UPLOAD_OFFSET_HEADER, "0")
+                    .body(new ApiResponse<>(true, "이어 올리기 세션 생성", session));
+        } catch (ResumableUploadException e) {
+            return uploadSessionError(e);
+        }
+    }
+
+    // 세션 상태 (HEAD로도 조회 가능). 끊긴 뒤에는 Upload-Offset부터 다시 보냄
+    @GetMapping("/uploads/{uploadId}")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getUploadSession(@PathVariable String uploadId) {
+        try {
+            UploadSessionResponse session = resumableUploadService.status(uploadId);
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .header(UPLOAD_LENGTH_HEADER, String.valueOf(session.getSize()))
+                    .body(new ApiResponse<>(true, "이어 올리기 세션", session));
+        } catch (ResumableUploadException e) {
+            return uploadSessionError(e);
+        }
+    }
+
+    /**
+     * 조각 보내기 (본문은 application/octet-stream)
+     *
+     * Upload-Offset은 세션이 지금까지 받은 위치와 같아야 하며, 다르면 409와 함께 받은 위치를 알려줍니다.
+     * 마지막 조각이면 전체 검사 결과(completed=true, allowed)를 반환합니다.
+     */
+    @PatchMapping(path = "/uploads/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> appendUploadChunk(
+            @PathVariable String uploadId,
+            @RequestHeader(UPLOAD_OFFSET_HEADER) long offset,
+            InputStream body
+    ) {
+        try {
+            UploadSessionResponse session = resumableUploadService.append(uploadId, offset, body);
+            if (Boolean.FALSE.equals(session.getAllowed())) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiResponse<>(false, "업로드 차단", session));
+            }
+            String msg = session.isCompleted() ? "업로드 완료: 허용" : "조각 수신";
+            return ResponseEntity.ok()
+                    .header(UPLOAD_OFFSET_HEADER, String.valueOf(session.getOffset()))
+                    .body(new ApiResponse<>(true, msg, session));
+        } catch (ResumableUploadException e) {
+            return uploadSessionError(e);
+        } catch (IOException e) {
+            // 대부분 클라이언트 연결 끊김. 받은 부분까지는 세션에 남아 있음
+            log.debug("이어 올리기 조각 수신 중단: {} - {}", uploadId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiResponse<>(false, "조각 수신 중단", null));
+        }
+    }
+
+    // 세션 취소 (받던 파일 삭제)
+    @DeleteMapping("/uploads/{uploadId}")
+    public ResponseEntity<ApiResponse<Void>> abortUploadSession(@PathVariable String uploadId) {
+        boolean ok = resumableUploadService.abort(uploadId);
+        if (ok) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "세션 취소", null));
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse<>(false, "존재하지 않거나 사용 중인 세션", null));
     }
 
     // 최근 업로드 이력 조회 (최대 10개)
@@ -132,4 +327,78 @@ public class FileController {
         return ResponseEntity.ok(new ApiResponse<>(true, "최근 업로드", body));
     }
 
+    /**
+     * 업로드 이력 내보내기 (CSV/NDJSON 스트리밍)
+     *
+     * 예: /api/upload-history/export?from=2025-01-01T00:00:00&to=2025-02-01T00:00:00&allowed=false&format=ndjson
+     * 기간은 from 이상 to 미만이고, allowed를 생략하면 허용/차단 모두 내보냅니다.
+     * 기간에 따라 오래 걸릴 수 있으므로 전역 비동기 제한 시간 대신 file.upload.export.timeout-ms를 이 요청에만 적용합니다.
+     */
+    @GetMapping("/upload-history/export")
+    public ResponseEntity<StreamingResponseBody> exportUploadHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Boolean allowed,
+            @RequestParam(defaultValue = "csv") String format,
+            NativeWebRequest webRequest
+    ) {
+        UploadHistoryExportFormat exportFormat = UploadHistoryExportFormat.from(format);
+        if (exportFormat == null || !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = "upload-history-" + from.toLocalDate() + "_" + to.toLocalDate() + "." + exportFormat.getFileExtension();
+        StreamingResponseBody body = out -> uploadHistoryExportService.export(from, to, allowed, exportFormat, out);
+        // 비동기 처리 시작 전에 이 요청의 제한 시간만 변경 (0 이하면 제한 없음)
+        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+            long timeoutMs = uploadExportConfig.getTimeoutMs();
+            asyncWebRequest.setTimeout(timeoutMs > 0 ? timeoutMs : -1L);
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    // 업로드 이력 삭제 (저장된 파일의 참조도 함께 해제)
+    @DeleteMapping("/upload-history/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteUploadHistory(@PathVariable Long id) {
+        boolean ok = uploadService.deleteUploadHistory(id);
+        if (ok) {
+            return ResponseEntity.ok(new ApiResponse<>(true, "삭제 완료", null));
+        }
+        return ResponseEntity.badRequest().body(new ApiResponse<>(false, "존재하지 않는 이력", null));
+    }
+
+    // 업로드 파일 저장소 사용량 (중복 제거로 절약된 용량 포함)
+    @GetMapping("/storage")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStorageStats() {
+        return ResponseEntity.ok(new ApiResponse<>(true, "저장소 사용량", fileStorageService.getStats()));
+    }
+
+    // 업로드 판정 실시간 피드 (SSE). 브라우저 재접속 시 Last-Event-ID 이후 이벤트를 재전송
+    @GetMapping(path = "/upload-history/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUploads(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        SseEmitter emitter = uploadEventService.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static ResponseEntity<ApiResponse<UploadSessionResponse>> uploadSessionError(ResumableUploadException e) {
+        HttpStatus status = switch (e.getReason()) {
+            case NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case OFFSET_MISMATCH, BUSY -> HttpStatus.CONFLICT;
+            case TOO_MANY -> HttpStatus.TOO_MANY_REQUESTS;
+            case INVALID -> HttpStatus.BAD_REQUEST;
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (e.getOffset() >= 0) {
+            response.header(UPLOAD_OFFSET_HEADER, String.valueOf(e.getOffset()));
+        }
+        return response.body(new ApiResponse<>(false, e.getMessage(), null));
+    }
 }
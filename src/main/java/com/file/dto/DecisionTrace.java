@@ -0,0 +1,66 @@
+package com.file.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 업로드 판정 추적 정보 (추적 대상 요청에만 생성)
+@Getter
+@Setter
+public class DecisionTrace {
+    private String extension;      // 정규화된 확장자 (없으면 null)
+    private String matchedRule;    // 예: "fixed:exe", "custom:php" (매칭 규칙 없으면 null)
+    private RuleSource ruleSource; // 규칙 출처
+    private long policyVersion;    // 판정에 사용된 정책 버전
+    private long configRevision;   // 판정에 사용된 설정 파일 리비전 (재적용 횟수)
+    private boolean allowed;
+    private boolean sampled;       // 샘플링으로 수집된 추적인지 여부
+    private Map<String, Long> stageNanos = new LinkedHashMap<>(); // 단계별 소요 시간(ns)
+    private long totalNanos;
+
+    @Getter(AccessLevel.NONE)
+    private final long startedAt = System.nanoTime();
+
+    public DecisionTrace(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    // 단계 종료 기록. 다음 단계의 시작 시각을 반환
+    public long stage(String name, long stageStartedAt) {
+        long now = System.nanoTime();
+        stageNanos.put(name, now - stageStartedAt);
+        return now;
+    }
+
+    public void matched(RuleSource source, String rule) {
+        this.ruleSource = source;
+        this.matchedRule = rule;
+    }
+
+    public void finish(boolean allowed) {
+        this.allowed = allowed;
+        this.totalNanos = System.nanoTime() - startedAt;
+    }
+
+    // 응답 헤더/로그용 한 줄 표현 (헤더에 넣을 수 있도록 확장자와 규칙은 URL 인코딩)
+    public String toHeaderValue() {
+        StringBuilder sb = new StringBuilder()
+                .append("ext=").append(encode(extension))
+                .append(";rule=").append(encode(matchedRule))
+                .append(";source=").append(ruleSource == null ? "-" : ruleSource.name())
+                .append(";version=").append(policyVersion)
+                .append(";config_rev=").append(configRevision)
+                .append(";allowed=").append(allowed);
+        stageNanos.forEach((name, nanos) -> sb.append(';').append(name).append("_ns=").append(nanos));
+        return sb.append(";total_ns=").append(totalNanos).toString();
+    }
+
+    private static String encode(String value) {
+        return value == null ? "-" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,17 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 정책 일괄 변경 요청 (전부 적용되거나 전부 취소됨)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyBatchRequest {
+    private List<PolicyOperation> operations;
+}
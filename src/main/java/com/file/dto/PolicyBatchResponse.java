@@ -0,0 +1,16 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 정책 일괄 변경 결과
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyBatchResponse {
+    private long policyVersion; // 적용 후 정책 버전
+    private int applied;        // 적용된 작업 수
+}
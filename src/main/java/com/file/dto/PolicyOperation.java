@@ -0,0 +1,24 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 정책 일괄 변경의 단일 작업
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyOperation {
+
+    public enum Type {
+        TOGGLE, // 고정 확장자 차단/허용 (extension, blocked)
+        ADD,    // 커스텀 확장자 추가 (extension)
+        REMOVE  // 커스텀 확장자 삭제 (extension)
+    }
+
+    private Type type;
+    private String extension; // 예 : "exe", "php"
+    private boolean blocked;  // TOGGLE에서만 사용
+}
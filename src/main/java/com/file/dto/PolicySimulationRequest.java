@@ -0,0 +1,20 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 정책 영향 시뮬레이션 요청 (operations는 /api/policy/batch와 같은 형식)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicySimulationRequest {
+    private LocalDateTime from; // 업로드 이력 기간 (이상)
+    private LocalDateTime to;   // 업로드 이력 기간 (미만)
+    private List<PolicyOperation> operations;
+}
@@ -0,0 +1,37 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+// 정책 영향 시뮬레이션 결과 (현재 정책 대비)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicySimulationResponse {
+    private long policyVersion;      // 비교 기준이 된 현재 정책 버전
+    private long scannedAttempts;    // 기간 내 업로드 시도 수
+    private int distinctExtensions;  // 기간 내 확장자 종류 수 (확장자 없음 포함)
+    private long newlyBlocked;       // 현재 허용 → 변경 후 차단되는 시도 수
+    private long newlyAllowed;       // 현재 차단 → 변경 후 허용되는 시도 수
+    private List<ExtensionImpact> extensions; // 판정이 바뀌는 확장자만, 시도 수 내림차순
+    private long elapsedMs;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExtensionImpact {
+
+        public enum Change { NEWLY_BLOCKED, NEWLY_ALLOWED }
+
+        private String extension;
+        private Change change;
+        private long attempts;
+        private long recordedAllowed; // 그중 이력에 허용으로 기록된 시도 수
+    }
+}
@@ -0,0 +1,10 @@
+package com.file.dto;
+
+// 판정을 결정한 규칙의 출처
+public enum RuleSource {
+    FIXED,  // DB에 저장된 고정 확장자 설정 (체크/해제)
+    CUSTOM, // 관리자가 추가한 커스텀 확장자
+    CONFIG, // 설정 파일에만 있고 DB 행이 없는 고정 확장자 (기본값 적용)
+    FALLBACK, // 정책을 한 번도 불러오지 못해 장애 시 판정 방식(fail-open/closed) 적용
+    SCANNER  // 확장자 정책 외의 업로드 검사 단계 (내용 형식, 크기, 외부 검사기 등)
+}
@@ -0,0 +1,29 @@
+package com.file.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 업로드 검사 단계 하나의 결과
+@Getter
+@AllArgsConstructor
+public class ScanStageResult {
+
+    public enum Status {
+        ALLOWED,
+        BLOCKED,
+        TIMEOUT,        // 제한 시간 초과 (file.upload.scan.failure-action에 따라 차단/통과)
+        ERROR,          // 검사 중 오류 (failure-action 적용)
+        SKIPPED,        // 앞 단계에서 차단되어 실행하지 않음 (또는 실행 중 취소됨)
+        NOT_APPLICABLE  // 이 업로드에 적용되지 않는 단계 (예: 파일 내용 없음)
+    }
+
+    private String stage;
+    private int cost;
+    private Status status;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String reason;
+
+    private long elapsedNanos;
+}
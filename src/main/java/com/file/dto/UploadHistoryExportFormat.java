@@ -0,0 +1,26 @@
+package com.file.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+// 업로드 이력 내보내기 형식
+@Getter
+@RequiredArgsConstructor
+public enum UploadHistoryExportFormat {
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv"),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+
+    // 요청 파라미터 값으로 찾기 (없으면 null)
+    public static UploadHistoryExportFormat from(String value) {
+        for (UploadHistoryExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 업로드 이력 내보내기 행 (엔티티를 거치지 않고 ResultSet에서 바로 만드는 projection)
+@Getter
+@AllArgsConstructor
+public class UploadHistoryExportRow {
+    private final long id;
+    private final String fileName;
+    private final String extension;
+    private final boolean allowed;
+    private final LocalDateTime uploadTime;
+    private final String blobDigest;
+}
@@ -0,0 +1,16 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 업로드 검사 파이프라인 결과
+@Getter
+@AllArgsConstructor
+public class UploadScanReport {
+    private boolean allowed;
+    private String blockedBy;   // 차단한 단계 (허용이면 null)
+    private String reason;      // 차단 사유 (허용이면 null)
+    private List<ScanStageResult> stages; // 실행 순서대로
+}
@@ -0,0 +1,17 @@
+package com.file.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// 이어 올리기 세션 생성 요청
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSessionRequest {
+    private String fileName;    // 예 : "backup.tar.gz"
+    private long size;          // 전체 파일 크기 (byte)
+    private String contentType; // 선택
+}
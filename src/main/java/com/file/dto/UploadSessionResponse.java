@@ -0,0 +1,29 @@
+package com.file.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.List;
+
+// 이어 올리기 세션 상태
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadSessionResponse {
+    private String uploadId;     // 이름 검사에서 차단되면 null (세션을 만들지 않음)
+    private String fileName;
+    private String extension;
+    private long size;
+    private long offset;         // 지금까지 받은 byte 수 (다음 조각의 Upload-Offset)
+    private boolean completed;
+    private Boolean allowed;     // 판정이 난 경우에만 (받는 중이면 null)
+    private Instant expiresAt;   // 이 시각까지 다음 조각이 없으면 세션 삭제
+    private String storedDigest; // 저장된 파일 내용 해시 (완료 후 허용되어 저장된 경우에만)
+    private String blockedBy;
+    private String blockReason;
+    private List<ScanStageResult> scan; // 세션 생성/완료 시 검사 단계별 결과
+}
@@ -1,10 +1,13 @@
 package com.file.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 // 업로드 테스트 응답
 @Getter
 @Setter
@@ -15,4 +18,22 @@ public class UploadTestResponse {
     private String extension; // null 기능 (확장자 없을 떄)
     private boolean allowed;  // true = 허용, false = 차단
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DecisionTrace trace; // 판정 추적 (X-Decision-Trace 요청 시에만)
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String storedDigest; // 저장된 파일 내용 해시 (허용되어 저장된 경우에만)
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String blockedBy;    // 차단한 검사 단계 (예: "extension-policy", "content-signature")
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String blockReason;  // 차단 사유
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ScanStageResult> scan; // 검사 단계별 결과
+
+    public UploadTestResponse(String fileName, String extension, boolean allowed) {
+        this(fileName, extension, allowed, null, null, null, null, null);
+    }
 }
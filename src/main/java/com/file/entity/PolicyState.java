@@ -0,0 +1,35 @@
+package com.file.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// 확장자 정책 상태 (단일 행). 정책 버전과 커스텀 확장자 개수를 함께 관리
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "policy_state")
+public class PolicyState {
+
+    // 항상 1번 행 하나만 사용
+    @Id
+    private Long id;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "custom_count", nullable = false)
+    private int customCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 업데이트 시각 자동 갱신
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,34 @@
+package com.file.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// 저장소에 보관된 파일 내용 (같은 내용은 한 번만 저장하고 참조 수로 관리)
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stored_blobs")
+public class StoredBlob {
+
+    // 파일 내용 해시 (hex)
+    @Id
+    @Column(name = "digest", length = 128)
+    private String digest;
+
+    @Column(name = "size", nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // 마지막으로 참조 수가 바뀐 시각 (GC 유예 기간 판단용)
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
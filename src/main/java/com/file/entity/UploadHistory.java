@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "upload_history")
+@Table(name = "upload_history",
+        indexes = {
+                @Index(name = "idx_upload_history_time", columnList = "upload_time"), // 기간 조회/내보내기용
+                @Index(name = "idx_upload_history_time_ext", columnList = "upload_time, extension, allowed") // 정책 영향 집계 (인덱스만 읽음)
+        })
 public class UploadHistory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +31,10 @@ public class UploadHistory {
     @Column(name = "upload_time", nullable = false)
     private LocalDateTime uploadTime;
 
+    // 저장된 파일 내용 해시 (허용되어 저장된 경우에만, stored_blobs.digest)
+    @Column(name = "blob_digest", length = 128)
+    private String blobDigest;
+
     // 업로드 시도 기록용 편의 생성자
     public UploadHistory(String filename, String extension, boolean allowed) {
         this.fileName = filename;
@@ -0,0 +1,41 @@
+package com.file.repository;
+
+import com.file.entity.PolicyState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+@Repository
+public interface PolicyStateRepository extends JpaRepository<PolicyState, Long> {
+
+    // 커스텀 확장자 개수 변경 + 정책 버전 1 증가를 한 번의 조건부 UPDATE로 처리
+    // 최대 개수를 넘는 경우 0건 갱신. 갱신된 행은 커밋까지 잠기므로 동시 변경이 직렬화됨
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PolicyState p SET p.customCount = p.customCount + :delta, p.version = p.version + 1, " +
+            "p.updatedAt = :now " +
+            "WHERE p.id = :id AND (:delta <= 0 OR p.customCount + :delta <= :maxCount)")
+    int applyChange(Long id, int delta, int maxCount, LocalDateTime now);
+
+    // 커스텀 확장자 개수만 실제 행 수로 맞춤 (버전은 건드리지 않음)
+    // 행을 잠그고 갱신하므로 다른 인스턴스의 정책 변경과 겹쳐도 값이 되돌아가지 않음
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE policy_state SET custom_count = (SELECT COUNT(*) FROM custom_extensions), " +
+            "updated_at = :now WHERE id = :id", nativeQuery = true)
+    int reconcileCustomCount(Long id, LocalDateTime now);
+
+    // 정책 상태 행이 없을 때만 생성 (동시에 생성하면 한쪽은 기본 키 중복으로 실패)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO policy_state (id, version, custom_count, updated_at) " +
+            "SELECT :id, 1, COUNT(*), :now FROM custom_extensions " +
+            "WHERE NOT EXISTS (SELECT 1 FROM policy_state WHERE id = :id)", nativeQuery = true)
+    int insertIfMissing(Long id, LocalDateTime now);
+
+    // 현재 정책 버전 조회
+    @Query("SELECT p.version FROM PolicyState p WHERE p.id = :id")
+    long findVersion(Long id);
+}
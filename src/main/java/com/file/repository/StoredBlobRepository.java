@@ -0,0 +1,46 @@
+package com.file.repository;
+
+import com.file.entity.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // 새 내용 등록 (참조 수 0, 이어서 incrementRefCount). 이미 있으면 0건
+    @Modifying
+    @Query(value = "INSERT INTO stored_blobs (digest, size, ref_count, created_at, updated_at) " +
+            "SELECT :digest, :size, 0, :now, :now FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stored_blobs WHERE digest = :digest)", nativeQuery = true)
+    int insertIfMissing(String digest, long size, LocalDateTime now);
+
+    // 참조 수 증가 (행이 없으면 0건)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1, b.updatedAt = :now WHERE b.digest = :digest")
+    int incrementRefCount(String digest, LocalDateTime now);
+
+    // 참조 수 감소 (0 아래로는 내려가지 않음)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now WHERE b.digest = :digest AND b.refCount > 0")
+    int decrementRefCount(String digest, LocalDateTime now);
+
+    // 유예 기간이 지난 참조 0 파일
+    List<StoredBlob> findTop500ByRefCountAndUpdatedAtBefore(long refCount, LocalDateTime cutoff);
+
+    // 참조가 여전히 0인 경우에만 삭제 (그 사이 다시 참조되면 0건)
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM StoredBlob b WHERE b.digest = :digest AND b.refCount = 0")
+    int deleteIfUnreferenced(String digest);
+
+    // 저장된 실제 바이트 합계
+    @Query("SELECT COALESCE(SUM(b.size), 0) FROM StoredBlob b")
+    long sumStoredBytes();
+
+    // 참조 기준 논리 바이트 합계 (중복 제거 전 크기)
+    @Query("SELECT COALESCE(SUM(b.size * b.refCount), 0) FROM StoredBlob b")
+    long sumReferencedBytes();
+}
@@ -0,0 +1,101 @@
+package com.file.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    판정에 바로 쓸 수 있도록 정리한 확장자 정책 스냅샷 (불변)
+
+    - 설정 파일의 고정 확장자 목록 + DB의 고정 확장자 차단 상태 + DB의 커스텀 확장자를 한 번에 담음
+    - 정책이 바뀌면 새 스냅샷을 만들어 통째로 교체하므로, 진행 중인 요청은 시작할 때 잡은
+      스냅샷으로 끝까지 판정함
+ */
+@Getter
+public final class CompiledExtensionPolicy {
+
+    private final long version;         // DB 정책 버전 (policy_state.version)
+    private final long configRevision;  // 설정 파일 재적용 횟수
+    private final List<String> configuredFixed;
+    private final Map<String, Boolean> fixedStatus; // 설정된 고정 확장자 중 DB 행이 있는 것의 차단 여부
+    private final Set<String> custom;
+    private final int maxCustomExtensions;
+    private final int maxExtensionLength;
+    private final LocalDateTime compiledAt;
+
+    public CompiledExtensionPolicy(long version,
+                                   long configRevision,
+                                   List<String> configuredFixed,
+                                   Map<String, Boolean> storedFixedStatus,
+                                   Collection<String> custom,
+                                   int maxCustomExtensions,
+                                   int maxExtensionLength) {
+        this.version = version;
+        this.configRevision = configRevision;
+        this.configuredFixed = List.copyOf(configuredFixed);
+
+        // 설정에서 빠진 고정 확장자는 DB에 행이 남아 있어도 판정에 쓰지 않음
+        Map<String, Boolean> status = new HashMap<>();
+        for (String ext : this.configuredFixed) {
+            Boolean blocked = storedFixedStatus.get(ext);
+            if (blocked != null) {
+                status.put(ext, blocked);
+            }
+        }
+        this.fixedStatus = Map.copyOf(status);
+        this.custom = Set.copyOf(custom);
+        this.maxCustomExtensions = maxCustomExtensions;
+        this.maxExtensionLength = maxExtensionLength;
+        this.compiledAt = LocalDateTime.now();
+    }
+
+    // 아직 한 번도 정책을 불러오지 못한 상태
+    public static CompiledExtensionPolicy empty() {
+        return new CompiledExtensionPolicy(0L, 0L, List.of(), Map.of(), List.of(), 0, 0);
+    }
+
+    // 고정 확장자 차단 상태. 설정에 없거나 DB 행이 없으면 null
+    public Boolean findFixedStatus(String extension) {
+        return fixedStatus.get(extension);
+    }
+
+    public boolean isConfiguredFixed(String extension) {
+        return configuredFixed.contains(extension);
+    }
+
+    public boolean isCustomBlocked(String extension) {
+        return custom.contains(extension);
+    }
+
+    public boolean isLoaded() {
+        return version > 0L;
+    }
+
+    // 확장자만으로 본 차단 여부 (고정 확장자 차단 또는 커스텀 확장자, 확장자 없음은 허용)
+    public boolean isBlocked(String extension) {
+        return extension != null && (Boolean.TRUE.equals(fixedStatus.get(extension)) || custom.contains(extension));
+    }
+
+    /**
+     * 변경을 적용한 사본 (정책 영향 시뮬레이션용)
+     *
+     * 이 스냅샷은 바뀌지 않으며, 버전과 설정 리비전은 그대로 가져갑니다.
+     */
+    public CompiledExtensionPolicy withChanges(Map<String, Boolean> fixedChanges,
+                                               Collection<String> addedCustom,
+                                               Collection<String> removedCustom) {
+        Map<String, Boolean> status = new HashMap<>(fixedStatus);
+        status.putAll(fixedChanges);
+        Set<String> changedCustom = new HashSet<>(custom);
+        changedCustom.addAll(addedCustom);
+        changedCustom.removeAll(removedCustom);
+        return new CompiledExtensionPolicy(version, configRevision, configuredFixed, status, changedCustom,
+                maxCustomExtensions, maxExtensionLength);
+    }
+}
@@ -0,0 +1,177 @@
+package com.file.service;
+
+import com.file.config.UploadStorageConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/*
+    내용 주소 기반 파일 저장소 (파일시스템 부분만 담당, 참조 수는 FileStorageService가 DB로 관리)
+
+    - 경로: {root}/blobs/{해시 앞 2자리}/{해시 3~4자리}/{해시}
+    - 들어온 파일은 먼저 {root}/staging 에 두고 해시를 계산한 뒤 해시 경로로 옮김
+    - 같은 해시 파일이 이미 있으면 옮기지 않고 staging 파일만 지움 (중복 저장 안 함)
+    - 저장소로 옮기는 단계는 파일 내용을 애플리케이션에서 복사하지 않음
+      · 이동: 같은 파일시스템이면 이름 변경, 아니면 FileChannel.transferTo (커널 복사)
+    - 해시는 파일 크기와 상관없이 고정 크기 버퍼 하나로 나눠 읽음
+      · 해시: FileChannel → 스레드별 버퍼 → MessageDigest
+        (MessageDigest.update는 direct buffer 내용도 내부 힙 배열로 복사하므로 메모리 사용량만 고정됨)
+ */
+@Slf4j
+@Service
+public class ContentAddressedStore {
+
+    private static final String BLOBS = "blobs";
+    private static final String STAGING = "staging";
+
+    private final UploadStorageConfig config;
+    private final Path blobRoot;
+    private final Path stagingRoot;
+    private final ThreadLocal<ByteBuffer> digestBuffer;
+
+    public ContentAddressedStore(UploadStorageConfig config) {
+        this.config = config;
+        Path root = Path.of(config.getRoot()).toAbsolutePath();
+        this.blobRoot = root.resolve(BLOBS);
+        this.stagingRoot = root.resolve(STAGING);
+        this.digestBuffer = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(config.getBufferSize()));
+        try {
+            Files.createDirectories(blobRoot);
+            Files.createDirectories(stagingRoot);
+        } catch (IOException e) {
+            throw new UncheckedIOException("저장소 디렉터리 생성 실패: " + root, e);
+        }
+        newMessageDigest(); // 지원하지 않는 알고리즘이면 기동 시점에 실패
+    }
+
+    // staging 파일 경로 (아직 만들지 않음. multipart.transferTo 등으로 채움)
+    public Path newStagingFile() {
+        return stagingRoot.resolve(UUID.randomUUID() + ".part");
+    }
+
+    /**
+     * 다른 위치의 파일을 staging으로 복사
+     *
+     * FileChannel.transferTo로 커널 안에서 복사합니다 (Linux는 copy_file_range/sendfile).
+     * multipart 임시 파일처럼 원본을 옮길 수 없을 때 사용합니다.
+     */
+    public Path stageCopy(Path source) throws IOException {
+        Path staged = newStagingFile();
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(staged, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            transfer(in, out);
+        } catch (IOException e) {
+            Files.deleteIfExists(staged);
+            throw e;
+        }
+        return staged;
+    }
+
+    // 파일 내용 해시 (hex). 스레드별 고정 크기 버퍼 하나로 끝까지 읽음
+    public String digest(Path file) throws IOException {
+        MessageDigest md = newMessageDigest();
+        ByteBuffer buffer = digestBuffer.get();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                md.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    /**
+     * staging 파일을 해시 경로로 확정
+     *
+     * @return 새로 저장했으면 true, 같은 내용이 이미 있어서 staging 파일을 버렸으면 false
+     */
+    public boolean commit(Path staged, String digest) throws IOException {
+        Path target = pathOf(digest);
+        if (Files.exists(target)) {
+            Files.deleteIfExists(staged);
+            return false;
+        }
+        Files.createDirectories(target.getParent());
+
+        try {
+            // 이름 변경만 일어나므로 다른 스레드가 반쯤 쓴 파일을 볼 일이 없음
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            Files.deleteIfExists(staged);
+            return false;
+        } catch (AtomicMoveNotSupportedException e) {
+            // staging과 저장 위치가 다른 파일시스템인 경우: 임시 이름으로 복사 후 이름 변경
+            Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try (FileChannel in = FileChannel.open(staged, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                transfer(in, out);
+                out.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            Files.deleteIfExists(staged);
+            return true;
+        }
+    }
+
+    public boolean delete(String digest) throws IOException {
+        return Files.deleteIfExists(pathOf(digest));
+    }
+
+    public Path pathOf(String digest) {
+        if (digest == null || digest.length() < 8 || !digest.matches("^[0-9a-f]+$")) {
+            throw new IllegalArgumentException("잘못된 해시: " + digest);
+        }
+        return blobRoot.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    // 저장된 모든 blob 파일 (GC의 고아 파일 정리용, 호출한 쪽에서 닫아야 함)
+    public Stream<Path> listBlobs() throws IOException {
+        return Files.walk(blobRoot, 3).filter(Files::isRegularFile);
+    }
+
+    // 남아 있는 staging 파일 (요청 도중 실패한 경우 등, 호출한 쪽에서 닫아야 함)
+    public Stream<Path> listStaging() throws IOException {
+        return Files.list(stagingRoot).filter(Files::isRegularFile);
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(config.getDigestAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("지원하지 않는 해시 알고리즘: " + config.getDigestAlgorithm(), e);
+        }
+    }
+
+    // transferTo는 요청한 길이보다 적게 옮길 수 있으므로 끝까지 반복
+    private static void transfer(FileChannel in, FileChannel out) throws IOException {
+        long size = in.size();
+        long position = 0L;
+        while (position < size) {
+            long moved = in.transferTo(position, size - position, out);
+            if (moved <= 0) {
+                break;
+            }
+            position += moved;
+        }
+    }
+}
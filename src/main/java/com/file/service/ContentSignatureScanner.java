@@ -0,0 +1,139 @@
+package com.file.service;
+
+import com.file.config.UploadScanConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/*
+    파일 내용 형식 검사 단계
+
+    확장자나 Content-Type과 관계없이 파일 앞부분(매직 넘버)이 실행 파일 형식이면 차단합니다.
+    확장자를 바꿔서 올린 실행 파일을 막기 위함입니다.
+    이어 올리기에서는 앞부분이 도착하는 즉시 판정해서 나머지를 받지 않습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentSignatureScanner implements UploadScanner, UploadChunkInspector {
+
+    enum Signature {
+        // "MZ"만으로는 텍스트 파일도 걸리므로 e_lfanew(0x3C)가 가리키는 위치의 "PE\0\0"까지 확인
+        PE(new byte[]{'M', 'Z'}) {
+            @Override
+            boolean matches(byte[] head) {
+                return super.matches(head) && hasPeHeader(head);
+            }
+        },
+        ELF(new byte[]{0x7F, 'E', 'L', 'F'}),
+        MACH_O(new byte[]{(byte) 0xFE, (byte) 0xED, (byte) 0xFA, (byte) 0xCE},
+                new byte[]{(byte) 0xFE, (byte) 0xED, (byte) 0xFA, (byte) 0xCF},
+                new byte[]{(byte) 0xCE, (byte) 0xFA, (byte) 0xED, (byte) 0xFE},
+                new byte[]{(byte) 0xCF, (byte) 0xFA, (byte) 0xED, (byte) 0xFE}),
+        JAVA_CLASS(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE}), // Mach-O fat binary와 같은 값
+        SCRIPT(new byte[]{'#', '!'});
+
+        private final byte[][] prefixes;
+
+        Signature(byte[]... prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        boolean matches(byte[] head) {
+            for (byte[] prefix : prefixes) {
+                if (startsWith(head, prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final int PE_OFFSET_FIELD = 0x3C; // DOS 헤더의 e_lfanew (PE 헤더 위치, little-endian)
+    private static final byte[] PE_HEADER = {'P', 'E', 0, 0};
+
+    private final UploadScanConfig uploadScanConfig;
+
+    @Override
+    public String getName() {
+        return "content-signature";
+    }
+
+    @Override
+    public int getCost() {
+        return 100;
+    }
+
+    @Override
+    public boolean supports(UploadScanContext context) {
+        return uploadScanConfig.getContentSignature().isEnabled() && context.hasContent();
+    }
+
+    @Override
+    public UploadScanVerdict scan(UploadScanContext context) throws IOException {
+        return inspect(context.getHead());
+    }
+
+    // 앞부분 HEAD_SIZE byte가 모이면 한 번만 판정 (그보다 작은 파일은 완료 후 전체 검사에서 판정)
+    @Override
+    public Inspection open(UploadScanContext context) {
+        if (!uploadScanConfig.getContentSignature().isEnabled()) {
+            return null;
+        }
+        byte[] head = new byte[UploadScanContext.HEAD_SIZE];
+        return (data, length, offset) -> {
+            if (offset >= head.length) {
+                return UploadScanVerdict.allow();
+            }
+            int copied = (int) Math.min(length, head.length - offset);
+            System.arraycopy(data, 0, head, (int) offset, copied);
+            return offset + copied < head.length ? UploadScanVerdict.allow() : inspect(head);
+        };
+    }
+
+    private UploadScanVerdict inspect(byte[] head) {
+        for (Signature signature : Signature.values()) {
+            if (signature.matches(head) && isBlocked(signature)) {
+                return UploadScanVerdict.block("실행 파일 형식 감지: " + signature.name());
+            }
+        }
+        return UploadScanVerdict.allow();
+    }
+
+    private boolean isBlocked(Signature signature) {
+        return uploadScanConfig.getContentSignature().getBlocked().stream()
+                .anyMatch(name -> name.trim().equalsIgnoreCase(signature.name()));
+    }
+
+    // PE 헤더가 앞부분(HEAD_SIZE) 밖에 있으면 확인할 수 없으므로 실행 파일로 보지 않음
+    private static boolean hasPeHeader(byte[] head) {
+        if (head.length < PE_OFFSET_FIELD + 4) {
+            return false;
+        }
+        long offset = (head[PE_OFFSET_FIELD] & 0xFFL)
+                | (head[PE_OFFSET_FIELD + 1] & 0xFFL) << 8
+                | (head[PE_OFFSET_FIELD + 2] & 0xFFL) << 16
+                | (head[PE_OFFSET_FIELD + 3] & 0xFFL) << 24;
+        if (offset < PE_OFFSET_FIELD + 4 || offset + PE_HEADER.length > head.length) {
+            return false;
+        }
+        for (int i = 0; i < PE_HEADER.length; i++) {
+            if (head[(int) offset + i] != PE_HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(byte[] head, byte[] prefix) {
+        if (head.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (head[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -21,6 +21,7 @@ public class CustomExtensionService {
     private final CustomExtensionRepository customExtensionRepository;
     private final FixedExtensionService fixedExtensionService;
     private final ExtensionPolicyConfig extensionPolicyConfig;
+    private final PolicyStateService policyStateService;
 
     // 모든 커스텀 확장자 조회 (최신순)
     @Transactional(readOnly = true)
@@ -31,45 +32,27 @@ public class CustomExtensionService {
     // 새로운 커스텀 확장자 추가 (개선된 버전)
     public boolean addCustomExtension(String extension) {
         try {
-            String normalized = normalizeExtension(extension);
-
-            // 기본 유효성 검사 (설정 파일의 제한값 사용)
-            if (!isValidExtension(normalized)) {
-                log.debug("유효하지 않은 확장자 형식: {}", extension);
+            // 최대 개수 확인 + 정책 버전 증가
+            // count() 후 insert 대신 정책 상태 행을 조건부로 갱신하므로 동시 추가에도 최대 개수를 넘지 않음
+            long version = policyStateService.reserve(1);
+            if (version == PolicyStateService.LIMIT_EXCEEDED) {
+                log.debug("커스텀 확장자 최대 개수 초과. 최대: {}", extensionPolicyConfig.getMaxCustomExtensions());
                 return false;
             }
-
-            // 중복 검사 (커스텀 확장자 내)
-            if (customExtensionRepository.existsByExtension(normalized)) {
-                log.debug("이미 존재하는 커스텀 확장자: {}", normalized);
-                return false;
-            }
-
-            // 고정 확장자와 중복 검사
-            if (isConflictWithFixedExtension(normalized)) {
-                log.debug("고정 확장자와 중복: {}", normalized);
+            if (version == PolicyStateService.STATE_MISSING) {
+                log.warn("정책 상태 행이 없어 커스텀 확장자를 추가할 수 없음: {}", extension);
                 return false;
             }
 
-            // 최대 개수 확인 (설정 파일의 제한값 사용)
-            if (customExtensionRepository.count() >= extensionPolicyConfig.getMaxCustomExtensions()) {
-                log.debug("커스텀 확장자 최대 개수 초과. 현재: {}, 최대: {}",
-                        customExtensionRepository.count(), extensionPolicyConfig.getMaxCustomExtensions());
+            if (!applyAdd(extension)) {
+                policyStateService.rollbackReservation();
                 return false;
             }
-
-            // 모든 검증 통과 시 추가
-            CustomExtension newExt = new CustomExtension();
-            newExt.setExtension(normalized);
-            newExt.setCreatedAt(LocalDateTime.now());
-            newExt.setUpdatedAt(LocalDateTime.now());
-
-            customExtensionRepository.save(newExt);
-
-            log.info("새로운 커스텀 확장자 추가: {}", normalized);
             return true;
 
         } catch (Exception e) {
+            // 예약한 정책 상태 변경(개수/버전)이 행 없이 커밋되지 않도록 롤백
+            policyStateService.rollbackReservation();
             log.error("커스텀 확장자 추가 실패: " + extension, e);
             return false;
         }
@@ -78,26 +61,85 @@ public class CustomExtensionService {
     // 커스텀 확장자 삭제
     public boolean removeCustomExtension(String extension) {
         try {
-            String normalized = normalizeExtension(extension);
-
-            CustomExtension extensionToDelete = customExtensionRepository.findByExtension(normalized)
-                    .orElse(null);
+            // 개수를 줄이는 변경은 최대 개수 초과가 없으므로 실패는 정책 상태 행이 없는 경우뿐
+            if (policyStateService.reserve(-1) == PolicyStateService.STATE_MISSING) {
+                log.warn("정책 상태 행이 없어 커스텀 확장자를 삭제할 수 없음: {}", extension);
+                return false;
+            }
 
-            if (extensionToDelete != null) {
-                customExtensionRepository.delete(extensionToDelete);
-                log.info("커스텀 확장자 삭제: {}", normalized);
-                return true;
-            } else {
-                log.debug("삭제하려는 커스텀 확장자가 존재하지 않음: {}", normalized);
+            if (!applyRemove(extension)) {
+                policyStateService.rollbackReservation();
                 return false;
             }
+            return true;
 
         } catch (Exception e) {
+            policyStateService.rollbackReservation();
             log.error("커스텀 확장자 삭제 실패: " + extension, e);
             return false;
         }
     }
 
+    /**
+     * 커스텀 확장자 추가 (검증 + 저장)
+     *
+     * 정책 상태 예약(PolicyStateService.reserve)은 호출자가 같은 트랜잭션에서 먼저 해야 합니다.
+     * 예약으로 정책 상태 행이 잠긴 뒤라 중복 검사가 다른 관리자의 추가와 경합하지 않습니다.
+     */
+    public boolean applyAdd(String extension) {
+        String normalized = normalizeExtension(extension);
+
+        // 기본 유효성 검사 (설정 파일의 제한값 사용)
+        if (!isValidExtension(normalized)) {
+            log.debug("유효하지 않은 확장자 형식: {}", extension);
+            return false;
+        }
+
+        // 고정 확장자와 중복 검사
+        if (isConflictWithFixedExtension(normalized)) {
+            log.debug("고정 확장자와 중복: {}", normalized);
+            return false;
+        }
+
+        // 중복 검사 (커스텀 확장자 내)
+        if (customExtensionRepository.existsByExtension(normalized)) {
+            log.debug("이미 존재하는 커스텀 확장자: {}", normalized);
+            return false;
+        }
+
+        // 모든 검증 통과 시 추가
+        CustomExtension newExt = new CustomExtension();
+        newExt.setExtension(normalized);
+        newExt.setCreatedAt(LocalDateTime.now());
+        newExt.setUpdatedAt(LocalDateTime.now());
+
+        customExtensionRepository.save(newExt);
+
+        log.info("새로운 커스텀 확장자 추가: {}", normalized);
+        return true;
+    }
+
+    /**
+     * 커스텀 확장자 삭제 (존재 확인 + 삭제)
+     *
+     * 정책 상태 예약은 호출자가 같은 트랜잭션에서 먼저 해야 합니다.
+     */
+    public boolean applyRemove(String extension) {
+        String normalized = normalizeExtension(extension);
+
+        CustomExtension extensionToDelete = customExtensionRepository.findByExtension(normalized)
+                .orElse(null);
+
+        if (extensionToDelete == null) {
+            log.debug("삭제하려는 커스텀 확장자가 존재하지 않음: {}", normalized);
+            return false;
+        }
+
+        customExtensionRepository.delete(extensionToDelete);
+        log.info("커스텀 확장자 삭제: {}", normalized);
+        return true;
+    }
+
     // 특정 커스텀 확장자 존재 여부 확인
     @Transactional(readOnly = true)
     public boolean isCustomExtensionExists(String extension) {
@@ -118,7 +160,8 @@ public class CustomExtensionService {
 
     // === 내부 유틸리티 메서드들 ===
     //
-    private String normalizeExtension(String extension) {
+    // 정책 영향 시뮬레이션도 같은 기준으로 정규화
+    static String normalizeExtension(String extension) {
         if (extension == null || extension.trim().isEmpty()) {
             return null;
         }
@@ -133,12 +176,17 @@ public class CustomExtensionService {
 
     // 확장자 유효성 검사 (설정 파일의 제한값 적용)
     private boolean isValidExtension(String extension) {
+        return isValidExtension(extension, extensionPolicyConfig.getMaxExtensionLength());
+    }
+
+    // 확장자 유효성 검사 (정책 영향 시뮬레이션은 정책 스냅샷의 제한값으로 호출)
+    static boolean isValidExtension(String extension, int maxExtensionLength) {
         if (extension == null || extension.isEmpty()) {
             return false;
         }
 
-        // 길이 제한 검사 (설정 파일에서 읽어온 값 사용)
-        if (extension.length() > extensionPolicyConfig.getMaxExtensionLength()) {
+        // 길이 제한 검사
+        if (extension.length() > maxExtensionLength) {
             return false;
         }
 
@@ -0,0 +1,45 @@
+package com.file.service;
+
+import com.file.config.DecisionTraceConfig;
+import com.file.dto.DecisionTrace;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 업로드 판정 추적 생성/내보내기 서비스
+@Service
+@RequiredArgsConstructor
+public class DecisionTraceService {
+
+    // 샘플링된 추적 전용 로거 (로깅 설정으로 별도 파일이나 수집기로 분리 가능)
+    private static final Logger TRACE_LOG = LoggerFactory.getLogger("decision-trace");
+
+    private final DecisionTraceConfig decisionTraceConfig;
+
+    /**
+     * 추적 시작
+     *
+     * 요청 헤더로 추적을 요청했거나 샘플링에 걸린 경우에만 추적 객체를 만들고,
+     * 그 외에는 null을 반환합니다. 판정 로직은 null이면 시간 측정도 하지 않으므로
+     * 추적하지 않는 요청에는 추가 객체 생성이 없습니다.
+     */
+    public DecisionTrace start(boolean requested) {
+        double sampleRate = decisionTraceConfig.getSampleRate();
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+
+        if (!sampled && !(requested && decisionTraceConfig.isRequestEnabled())) {
+            return null;
+        }
+        return new DecisionTrace(sampled);
+    }
+
+    // 샘플링된 추적 내보내기
+    public void export(DecisionTrace trace) {
+        if (trace != null && trace.isSampled()) {
+            TRACE_LOG.info(trace.toHeaderValue());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.file.service;
+
+import com.file.config.PolicyFallbackConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+    확장자 정책 상태 (/actuator/health 의 extensionPolicy, extension.policy.* 지표)
+
+    - DB 정책으로 판정 중: UP
+    - 로컬 스냅샷으로 판정 중이거나 회로가 열린 상태: UP + degraded=true (판정은 계속 가능)
+    - 정책이 전혀 없어 fail-open/closed로 판정 중: DOWN
+ */
+@Component
+@RequiredArgsConstructor
+public class ExtensionPolicyHealthIndicator implements HealthIndicator, MeterBinder {
+
+    private final ExtensionPolicyHolder extensionPolicyHolder;
+    private final PolicyCircuitBreaker policyCircuitBreaker;
+    private final PolicyFallbackConfig policyFallbackConfig;
+
+    @Override
+    public Health health() {
+        CompiledExtensionPolicy policy = extensionPolicyHolder.current();
+        Health.Builder builder = policy.isLoaded() ? Health.up() : Health.down();
+        builder.withDetail("source", extensionPolicyHolder.getSource())
+                .withDetail("degraded", extensionPolicyHolder.isDegraded())
+                .withDetail("circuit", policyCircuitBreaker.getState())
+                .withDetail("version", policy.getVersion())
+                .withDetail("loadFailures", extensionPolicyHolder.getLoadFailures());
+        Instant lastLoad = extensionPolicyHolder.getLastDatabaseLoad();
+        if (lastLoad != null) {
+            builder.withDetail("lastDatabaseLoad", lastLoad.toString());
+        }
+        if (!policy.isLoaded()) {
+            builder.withDetail("failMode", policyFallbackConfig.getFailMode());
+        }
+        return builder.build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("extension.policy.degraded", extensionPolicyHolder, h -> h.isDegraded() ? 1 : 0)
+                .description("1 if verdicts are not using a policy freshly loaded from the database")
+                .register(registry);
+        Gauge.builder("extension.policy.circuit.state", policyCircuitBreaker, b -> b.getState().ordinal())
+                .description("Policy loading circuit breaker state (0=closed, 1=half-open, 2=open)")
+                .register(registry);
+        Gauge.builder("extension.policy.version", extensionPolicyHolder, h -> h.current().getVersion())
+                .description("Version of the policy snapshot used for verdicts")
+                .register(registry);
+        Gauge.builder("extension.policy.staleness", extensionPolicyHolder, ExtensionPolicyHealthIndicator::stalenessSeconds)
+                .description("Seconds since the policy was last loaded from the database")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionCounter.builder("extension.policy.load.failures", extensionPolicyHolder, ExtensionPolicyHolder::getLoadFailures)
+                .description("Failed policy loads from the database")
+                .register(registry);
+    }
+
+    private static double stalenessSeconds(ExtensionPolicyHolder holder) {
+        Instant lastLoad = holder.getLastDatabaseLoad();
+        return lastLoad == null ? Double.NaN : Duration.between(lastLoad, Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,342 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.config.PolicyFallbackConfig;
+import com.file.config.PolicyRefreshConfig;
+import com.file.entity.CustomExtension;
+import com.file.entity.FixedExtension;
+import com.file.repository.CustomExtensionRepository;
+import com.file.repository.FixedExtensionRepository;
+import com.file.repository.PolicyStateRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    현재 확장자 정책 스냅샷 보관/교체 서비스
+
+    - 판정은 메모리의 스냅샷만 사용하므로 DB가 멈춰도 판정 지연이 생기지 않음
+    - DB 로딩은 회로 차단기를 거치고, 실패하면 현재 스냅샷(또는 로컬 파일의 마지막 정상 정책)을 유지
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExtensionPolicyHolder implements SmartInitializingSingleton {
+
+    // 현재 스냅샷의 출처
+    public enum PolicySource { NONE, LOCAL_SNAPSHOT, DATABASE }
+
+    private final FixedExtensionRepository fixedExtensionRepository;
+    private final CustomExtensionRepository customExtensionRepository;
+    private final PolicyStateRepository policyStateRepository;
+    private final ExtensionPolicyConfig extensionPolicyConfig;
+    private final PolicyRefreshConfig policyRefreshConfig;
+    private final PlatformTransactionManager transactionManager;
+    private final PolicySnapshotStore policySnapshotStore;
+    private final PolicyCircuitBreaker policyCircuitBreaker;
+    private final PolicyFallbackConfig policyFallbackConfig;
+
+    private final AtomicReference<CompiledExtensionPolicy> current =
+            new AtomicReference<>(CompiledExtensionPolicy.empty());
+    private final AtomicLong configRevision = new AtomicLong();
+    private final AtomicLong loadFailures = new AtomicLong();
+    // 잠금 안에서 DB를 조회하므로 synchronized 대신 사용 (가상 스레드 carrier 고정 방지)
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    // DB 조회는 이 스레드에서 실행하고 호출한 쪽은 제한 시간까지만 기다림
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(daemonThreadFactory("policy-load-"));
+
+    private volatile PolicySource source = PolicySource.NONE;
+    private volatile Instant lastDatabaseLoad;
+    private ScheduledExecutorService poller;
+
+    /**
+     * 로컬 파일의 마지막 정상 정책으로 먼저 시작
+     *
+     * DB에서 정책을 읽기 전(또는 DB에 연결할 수 없는 동안)에도 빈 정책이 아니라
+     * 마지막으로 확인된 정책으로 판정하기 위함입니다.
+     */
+    @PostConstruct
+    public void loadLocalSnapshot() {
+        policySnapshotStore.load().ifPresent(snapshot -> {
+            current.set(snapshot);
+            source = PolicySource.LOCAL_SNAPSHOT;
+        });
+    }
+
+    /**
+     * 모든 빈 초기화(고정 확장자 생성, 정책 상태 행 준비)가 끝난 뒤, 웹 서버가 요청을 받기 전에
+     * 첫 스냅샷을 만들고 DB 정책 버전 확인을 시작합니다.
+     * DB 로딩에 실패해도 시작은 계속하고, 버전 확인 주기마다 다시 시도합니다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+        if (source != PolicySource.DATABASE) {
+            log.error("확장자 정책 초기 로딩 실패. 현재 출처: {} (NONE이면 {} 모드로 판정)",
+                    source, policyFallbackConfig.getFailMode());
+        }
+
+        long interval = policyRefreshConfig.getDbPollIntervalMs();
+        if (interval > 0) {
+            poller = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("policy-version-poll-"));
+            poller.scheduleWithFixedDelay(this::refreshIfStale, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+        loader.shutdownNow();
+    }
+
+    // 현재 정책 스냅샷. 요청 하나는 처음 꺼낸 스냅샷으로 끝까지 판정
+    public CompiledExtensionPolicy current() {
+        return current.get();
+    }
+
+    public PolicySource getSource() {
+        return source;
+    }
+
+    // DB에서 마지막으로 정상 로딩한 시각 (한 번도 없으면 null)
+    public Instant getLastDatabaseLoad() {
+        return lastDatabaseLoad;
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.get();
+    }
+
+    // DB 최신 정책이 아닌 스냅샷으로 판정 중이거나 DB 로딩이 막혀 있는 상태
+    public boolean isDegraded() {
+        return source != PolicySource.DATABASE || policyCircuitBreaker.getState() != PolicyCircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * DB와 설정값으로 새 스냅샷을 만들어 교체
+     *
+     * 세 조회를 하나의 읽기 전용 트랜잭션에서 수행해 서로 일관된 상태로 묶습니다.
+     * 더 오래된 버전으로 되돌아가지 않도록 버전을 비교한 뒤 교체합니다.
+     *
+     * 회로가 열려 있으면 DB를 조회하지 않고, 로딩에 실패하면 현재 스냅샷을 그대로 반환합니다.
+     */
+    public CompiledExtensionPolicy refresh() {
+        refreshLock.lock();
+        try {
+            if (!policyCircuitBreaker.tryAcquire()) {
+                return current.get();
+            }
+            CompiledExtensionPolicy compiled;
+            try {
+                compiled = load(extensionPolicyConfig, configRevision.get());
+                policyCircuitBreaker.recordSuccess();
+            } catch (Exception e) {
+                recordLoadFailure(e);
+                return current.get();
+            }
+            return swap(compiled);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * 설정 파일 재적용: 후보 설정값으로 다시 컴파일한 뒤 설정 빈과 스냅샷을 함께 교체
+     *
+     * 회로가 열려 있거나 DB 로딩에 실패하면 설정 빈, 설정 리비전, 스냅샷을 모두 그대로 두고
+     * 예외를 던집니다. 호출자는 같은 변경을 나중에 다시 시도할 수 있습니다.
+     */
+    public CompiledExtensionPolicy refreshForConfigChange(ExtensionPolicyConfig candidate) {
+        refreshLock.lock();
+        try {
+            if (!policyCircuitBreaker.tryAcquire()) {
+                throw new IllegalStateException("정책 DB 회로가 열려 있음");
+            }
+            CompiledExtensionPolicy compiled;
+            try {
+                compiled = load(candidate, configRevision.get() + 1);
+                policyCircuitBreaker.recordSuccess();
+            } catch (RuntimeException e) {
+                recordLoadFailure(e);
+                throw e;
+            }
+            extensionPolicyConfig.apply(candidate);
+            configRevision.incrementAndGet();
+            return swap(compiled);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private CompiledExtensionPolicy load(ExtensionPolicyConfig config, long revision) {
+        return withinLoadTimeout(() -> readOnlyTransaction().execute(status -> {
+            long version = policyStateRepository.findVersion(PolicyStateService.STATE_ID);
+
+            Map<String, Boolean> fixedStatus = new HashMap<>();
+            for (FixedExtension fixed : fixedExtensionRepository.findAll()) {
+                fixedStatus.put(fixed.getExtension(), fixed.isBlocked());
+            }
+            List<String> custom = customExtensionRepository.findAll().stream()
+                    .map(CustomExtension::getExtension)
+                    .toList();
+
+            return compile(version, fixedStatus, custom, config, revision);
+        }));
+    }
+
+    // 다른 인스턴스에서 바뀐 정책 반영 (정책 상태 행 하나만 조회)
+    private void refreshIfStale() {
+        if (source != PolicySource.DATABASE) {
+            // 아직 DB에서 한 번도 읽지 못했으면 전체 로딩 재시도
+            refresh();
+            return;
+        }
+        if (!policyCircuitBreaker.tryAcquire()) {
+            return;
+        }
+        long dbVersion;
+        try {
+            dbVersion = withinLoadTimeout(() -> readOnlyTransaction()
+                    .execute(status -> policyStateRepository.findVersion(PolicyStateService.STATE_ID)));
+            policyCircuitBreaker.recordSuccess();
+        } catch (Exception e) {
+            recordLoadFailure(e);
+            return;
+        }
+        if (dbVersion > current.get().getVersion()) {
+            refresh();
+        }
+    }
+
+    // 정책 로딩은 제한 시간 안에 끝나야 함 (DB가 멈춰도 회로 차단기가 실패로 셀 수 있도록)
+    // 정책 변경 커밋 직후(afterCommit) 호출되면 이전 트랜잭션 자원이 아직 묶여 있으므로 항상 새 트랜잭션으로 실행
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        tx.setTimeout(policyFallbackConfig.getLoadTimeoutSeconds());
+        return tx;
+    }
+
+    /**
+     * 커넥션 대기까지 포함해서 load-timeout-seconds 안에 끝나지 않으면 실패로 처리
+     *
+     * 트랜잭션 제한 시간은 커넥션을 얻은 뒤부터 적용되고 풀의 커넥션 대기 시간(Hikari 기본 30초)은
+     * 모든 요청이 함께 쓰는 값이라, DB가 멈추면 정책 로딩이 그만큼 붙잡히고 회로 차단기도 늦게 열립니다.
+     * 제한 시간이 지나면 로딩 스레드를 인터럽트해서 커넥션 대기를 중단시킵니다.
+     */
+    private <T> T withinLoadTimeout(Callable<T> task) {
+        Future<T> future = loader.submit(task);
+        try {
+            return future.get(policyFallbackConfig.getLoadTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new QueryTimeoutException("정책 로딩 제한 시간(" + policyFallbackConfig.getLoadTimeoutSeconds() + "초) 초과");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("정책 로딩 대기 중 인터럽트", e);
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private void recordLoadFailure(Exception e) {
+        loadFailures.incrementAndGet();
+        policyCircuitBreaker.recordFailure();
+        log.warn("확장자 정책 로딩 실패. 현재 스냅샷 유지 (버전 {}, 출처 {}): {}",
+                current.get().getVersion(), source, e.getMessage());
+    }
+
+    private static CompiledExtensionPolicy compile(long version, Map<String, Boolean> fixedStatus, Collection<String> custom,
+                                                   ExtensionPolicyConfig config, long revision) {
+        List<String> configured = config.getFixedExtensions() == null
+                ? List.of()
+                : config.getFixedExtensions().stream()
+                    .map(ExtensionPolicyHolder::normalize)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+
+        return new CompiledExtensionPolicy(
+                version,
+                revision,
+                configured,
+                fixedStatus,
+                custom,
+                config.getMaxCustomExtensions(),
+                config.getMaxExtensionLength());
+    }
+
+    // 정책이 바뀌었으면 로컬 파일에도 저장
+    private CompiledExtensionPolicy swap(CompiledExtensionPolicy compiled) {
+        CompiledExtensionPolicy previous = current.get();
+        boolean fromDatabase = source == PolicySource.DATABASE;
+        lastDatabaseLoad = Instant.now();
+
+        // 로컬 스냅샷의 버전은 이전 실행이나 다른 DB의 값일 수 있으므로 DB에서 읽은 정책으로 무조건 교체
+        if (fromDatabase && compiled.getVersion() < previous.getVersion()) {
+            return previous;
+        }
+        current.set(compiled);
+        source = PolicySource.DATABASE;
+
+        boolean changed = !fromDatabase
+                || compiled.getVersion() != previous.getVersion()
+                || compiled.getConfigRevision() != previous.getConfigRevision();
+        if (compiled.getVersion() != previous.getVersion()) {
+            log.info("확장자 정책 스냅샷 교체. 버전: {} -> {}", previous.getVersion(), compiled.getVersion());
+        }
+        if (changed) {
+            policySnapshotStore.save(compiled);
+        }
+        return compiled;
+    }
+
+    private static String normalize(String extension) {
+        if (extension == null || extension.trim().isEmpty()) {
+            return null;
+        }
+        String normalized = extension.toLowerCase().trim();
+        return normalized.startsWith(".") ? normalized.substring(1) : normalized;
+    }
+}
@@ -0,0 +1,311 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.config.PolicyRefreshConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.BindResult;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 확장자 정책 설정(file.extension.policy.*) 재시작 없는 재적용 서비스
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExtensionPolicyReloader {
+
+    // 정책 설정 변경 감사 로그 (로깅 설정으로 별도 파일이나 수집기로 분리 가능)
+    private static final Logger AUDIT_LOG = LoggerFactory.getLogger("policy-audit");
+
+    private static final String PREFIX = "file.extension.policy";
+    private static final int EXTENSION_COLUMN_LENGTH = 20; // fixed_extensions.extension 컬럼 길이
+
+    private final ExtensionPolicyConfig extensionPolicyConfig;
+    private final PolicyRefreshConfig policyRefreshConfig;
+    private final FixedExtensionService fixedExtensionService;
+    private final ExtensionPolicyHolder extensionPolicyHolder;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    // 검증은 통과했지만 DB 반영에 실패해 다시 시도해야 하는 변경이 있음
+    private volatile boolean retryPending = false;
+
+    /**
+     * 설정 파일 감시 시작
+     *
+     * 파일 자체가 아니라 상위 디렉터리를 감시합니다. 편집기가 임시 파일을 쓴 뒤
+     * 이름을 바꿔 저장하는 경우에도 변경을 놓치지 않기 위함입니다.
+     */
+    @PostConstruct
+    public void startWatching() {
+        if (!policyRefreshConfig.isWatchEnabled()) {
+            return;
+        }
+        Path file = watchedFile();
+        Path dir = file.getParent();
+        if (dir == null || !Files.isDirectory(dir)) {
+            log.info("정책 설정 파일 감시 안 함 (디렉터리 없음): {}", file);
+            return;
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            log.warn("정책 설정 파일 감시 시작 실패: {}", file, e);
+            return;
+        }
+
+        watcher = new Thread(() -> watchLoop(file), "policy-config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        log.info("정책 설정 파일 감시 시작: {}", file);
+    }
+
+    @PreDestroy
+    public void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * 설정 파일을 다시 읽어 정책에 반영
+     *
+     * 1. 파일의 file.extension.policy.* 를 현재 값 위에 바인딩 (파일에 없는 키는 현재 값 유지)
+     * 2. 검증 실패 시 아무것도 바꾸지 않고 거부
+     * 3. 현재 값과 비교해서 바뀐 것이 없으면 종료
+     * 4. 후보 값으로 새 고정 확장자 DB 생성 → 정책 스냅샷 재컴파일 → 설정값과 스냅샷 교체
+     * 5. 변경 내용과 소요 시간을 감사 로그로 남김
+     *
+     * 진행 중인 판정은 이전 스냅샷으로 끝나고, 교체 이후 요청부터 새 정책이 적용됩니다.
+     * DB 장애나 회로 열림으로 4단계가 실패하면 설정값은 그대로 두고 재시도 대기로 표시합니다
+     * (설정값을 먼저 바꾸면 다음 재적용에서 변경이 없는 것으로 보여 새 값이 사라짐).
+     * 파일 감시 스레드가 DB 정책 버전 확인 주기마다 다시 시도합니다.
+     *
+     * @return 적용된 변경 내용 (변경 없음/거부/보류 시 빈 목록)
+     */
+    public synchronized List<String> reload() {
+        long started = System.nanoTime();
+        Path file = watchedFile();
+
+        ExtensionPolicyConfig candidate;
+        try {
+            candidate = bind(file);
+        } catch (Exception e) {
+            AUDIT_LOG.warn("정책 설정 재적용 거부 (파일 읽기 실패): {} - {}", file, e.getMessage());
+            return List.of();
+        }
+        if (candidate == null) {
+            log.debug("정책 설정 파일에 {} 항목 없음: {}", PREFIX, file);
+            return List.of();
+        }
+
+        List<String> errors = validate(candidate);
+        if (!errors.isEmpty()) {
+            retryPending = false;
+            AUDIT_LOG.warn("정책 설정 재적용 거부: {} - {}", file, errors);
+            return List.of();
+        }
+
+        List<String> changes = diff(extensionPolicyConfig, candidate);
+        if (changes.isEmpty()) {
+            retryPending = false;
+            return List.of();
+        }
+
+        int seeded;
+        CompiledExtensionPolicy compiled;
+        try {
+            seeded = fixedExtensionService.seedConfiguredExtensions(candidate.getFixedExtensions());
+            compiled = extensionPolicyHolder.refreshForConfigChange(candidate);
+        } catch (Exception e) {
+            retryPending = true;
+            AUDIT_LOG.warn("정책 설정 재적용 보류 (DB 반영 실패, {}ms 후 재시도): {} - {}",
+                    retryIntervalMs(), changes, e.getMessage());
+            return List.of();
+        }
+        retryPending = false;
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000L;
+        AUDIT_LOG.info("정책 설정 재적용: {} (새 고정 확장자 {}개 생성, 설정 리비전 {}, 정책 버전 {}, {}ms)",
+                changes, seeded, compiled.getConfigRevision(), compiled.getVersion(), elapsedMs);
+        return changes;
+    }
+
+    public boolean isRetryPending() {
+        return retryPending;
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private void watchLoop(Path file) {
+        Path fileName = file.getFileName();
+        try {
+            while (true) {
+                // 보류된 변경이 있으면 파일 변경이 없어도 주기적으로 깨어나 다시 시도
+                WatchKey key = retryPending
+                        ? watchService.poll(retryIntervalMs(), TimeUnit.MILLISECONDS)
+                        : watchService.take();
+                if (key == null) {
+                    reloadQuietly(file);
+                    continue;
+                }
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        touched = true;
+                    }
+                }
+                key.reset();
+                if (!touched) {
+                    continue;
+                }
+
+                // 저장 한 번에 이벤트가 여러 번 오는 경우를 묶어서 한 번만 재적용
+                Thread.sleep(policyRefreshConfig.getDebounceMs());
+                WatchKey pending;
+                while ((pending = watchService.poll()) != null) {
+                    pending.pollEvents();
+                    pending.reset();
+                }
+
+                reloadQuietly(file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // 종료
+        }
+    }
+
+    private void reloadQuietly(Path file) {
+        try {
+            reload();
+        } catch (Exception e) {
+            AUDIT_LOG.error("정책 설정 재적용 실패: {}", file, e);
+        }
+    }
+
+    private long retryIntervalMs() {
+        long interval = policyRefreshConfig.getDbPollIntervalMs();
+        return interval > 0 ? interval : 5000L;
+    }
+
+    private Path watchedFile() {
+        return Path.of(policyRefreshConfig.getWatchLocation()).toAbsolutePath();
+    }
+
+    // 파일에 정책 항목이 없으면 null
+    private ExtensionPolicyConfig bind(Path file) throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("policy-reload", new FileSystemResource(file));
+        Binder binder = new Binder(ConfigurationPropertySources.from(sources));
+
+        ExtensionPolicyConfig candidate = extensionPolicyConfig.copy();
+        BindResult<ExtensionPolicyConfig> result = binder.bind(PREFIX, Bindable.ofInstance(candidate));
+        return result.isBound() ? candidate : null;
+    }
+
+    private List<String> validate(ExtensionPolicyConfig candidate) {
+        List<String> errors = new ArrayList<>();
+
+        if (candidate.getMaxExtensionLength() < 1 || candidate.getMaxExtensionLength() > EXTENSION_COLUMN_LENGTH) {
+            errors.add("max-extension-length는 1~" + EXTENSION_COLUMN_LENGTH + " 사이");
+        }
+        if (candidate.getMaxCustomExtensions() < 0) {
+            errors.add("max-custom-extensions는 0 이상");
+        }
+        if (candidate.getMaxBatchOperations() < 1) {
+            errors.add("max-batch-operations는 1 이상");
+        }
+
+        List<String> fixed = candidate.getFixedExtensions();
+        if (fixed == null || fixed.isEmpty()) {
+            errors.add("fixed-extensions가 비어 있음");
+            return errors;
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        for (String ext : fixed) {
+            String normalized = normalize(ext);
+            if (normalized == null || !normalized.matches("^[a-z0-9.-]+$")) {
+                errors.add("잘못된 고정 확장자: " + ext);
+            } else if (normalized.length() > EXTENSION_COLUMN_LENGTH) {
+                errors.add("고정 확장자 길이 초과: " + ext);
+            } else if (!seen.add(normalized)) {
+                errors.add("고정 확장자 중복: " + ext);
+            }
+        }
+        return errors;
+    }
+
+    private List<String> diff(ExtensionPolicyConfig running, ExtensionPolicyConfig candidate) {
+        List<String> changes = new ArrayList<>();
+
+        Set<String> before = normalizedSet(running.getFixedExtensions());
+        Set<String> after = normalizedSet(candidate.getFixedExtensions());
+        for (String ext : after) {
+            if (!before.contains(ext)) {
+                changes.add("+fixed:" + ext);
+            }
+        }
+        for (String ext : before) {
+            if (!after.contains(ext)) {
+                changes.add("-fixed:" + ext);
+            }
+        }
+
+        if (running.getMaxCustomExtensions() != candidate.getMaxCustomExtensions()) {
+            changes.add("max-custom-extensions " + running.getMaxCustomExtensions() + "->" + candidate.getMaxCustomExtensions());
+        }
+        if (running.getMaxExtensionLength() != candidate.getMaxExtensionLength()) {
+            changes.add("max-extension-length " + running.getMaxExtensionLength() + "->" + candidate.getMaxExtensionLength());
+        }
+        if (running.getMaxBatchOperations() != candidate.getMaxBatchOperations()) {
+            changes.add("max-batch-operations " + running.getMaxBatchOperations() + "->" + candidate.getMaxBatchOperations());
+        }
+        return changes;
+    }
+
+    private static Set<String> normalizedSet(List<String> extensions) {
+        Set<String> set = new LinkedHashSet<>();
+        if (extensions != null) {
+            extensions.stream().map(ExtensionPolicyReloader::normalize).filter(Objects::nonNull).forEach(set::add);
+        }
+        return set;
+    }
+
+    private static String normalize(String extension) {
+        if (extension == null || extension.trim().isEmpty()) {
+            return null;
+        }
+        String normalized = extension.toLowerCase().trim();
+        return normalized.startsWith(".") ? normalized.substring(1) : normalized;
+    }
+}
@@ -0,0 +1,32 @@
+package com.file.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// 확장자 정책 검사 단계 (고정 → 커스텀 확장자, 메모리 스냅샷만 사용하므로 가장 먼저 실행)
+@Component
+@RequiredArgsConstructor
+public class ExtensionPolicyScanner implements UploadScanner {
+
+    public static final String NAME = "extension-policy";
+
+    private final FileUploadService fileUploadService;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getCost() {
+        return 10;
+    }
+
+    @Override
+    public UploadScanVerdict scan(UploadScanContext context) {
+        if (fileUploadService.isFileUploadAllowed(context.getFileName(), context.getTrace())) {
+            return UploadScanVerdict.allow();
+        }
+        return UploadScanVerdict.block("차단된 확장자: " + context.getExtension());
+    }
+}
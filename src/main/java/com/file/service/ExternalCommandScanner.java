@@ -0,0 +1,114 @@
+package com.file.service;
+
+import com.file.config.UploadScanConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    외부 검사 프로세스 단계 (백신 등)
+
+    - file.upload.scan.external.command 를 파일 경로와 함께 실행
+    - 종료 코드 0 = 통과, 1 = 차단 (출력 첫 줄을 사유로 사용), 그 외 = 오류 (clamscan/clamdscan 규칙)
+    - 동시 실행 단계이므로 제한 시간이 지나거나 다른 단계가 차단하면 프로세스를 강제 종료
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalCommandScanner implements UploadScanner {
+
+    private static final String FILE_PLACEHOLDER = "{file}";
+    private static final int REASON_MAX_LENGTH = 200;
+
+    private final UploadScanConfig uploadScanConfig;
+
+    @Override
+    public String getName() {
+        return "external-command";
+    }
+
+    @Override
+    public int getCost() {
+        return uploadScanConfig.getExternal().getCost();
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
+    @Override
+    public long getTimeoutMs() {
+        return uploadScanConfig.getExternal().getTimeoutMs();
+    }
+
+    @Override
+    public boolean supports(UploadScanContext context) {
+        return !uploadScanConfig.getExternal().getCommand().isEmpty() && context.hasContent();
+    }
+
+    @Override
+    public UploadScanVerdict scan(UploadScanContext context) throws IOException, InterruptedException {
+        Path file = context.getContentPath();
+        Path output = Files.createTempFile("upload-scan-", ".out");
+        Process process = null;
+        try {
+            process = new ProcessBuilder(command(file))
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.toFile())
+                    .start();
+            int exitCode = process.waitFor();
+
+            if (exitCode == 0) {
+                return UploadScanVerdict.allow();
+            }
+            if (exitCode == 1) {
+                return UploadScanVerdict.block("외부 검사기 차단: " + firstLine(output));
+            }
+            throw new IOException("외부 검사기 오류 (종료 코드 " + exitCode + "): " + firstLine(output));
+        } finally {
+            if (process != null && process.isAlive()) {
+                // 제한 시간 초과 또는 취소로 인터럽트된 경우
+                process.destroyForcibly();
+            }
+            Files.deleteIfExists(output);
+        }
+    }
+
+    private List<String> command(Path file) {
+        List<String> command = new ArrayList<>();
+        boolean placed = false;
+        for (String arg : uploadScanConfig.getExternal().getCommand()) {
+            if (arg.contains(FILE_PLACEHOLDER)) {
+                command.add(arg.replace(FILE_PLACEHOLDER, file.toString()));
+                placed = true;
+            } else {
+                command.add(arg);
+            }
+        }
+        if (!placed) {
+            command.add(file.toString());
+        }
+        return command;
+    }
+
+    private static String firstLine(Path output) {
+        try (BufferedReader reader = Files.newBufferedReader(output, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null) {
+                return "-";
+            }
+            return line.length() > REASON_MAX_LENGTH ? line.substring(0, REASON_MAX_LENGTH) : line;
+        } catch (IOException e) {
+            return "-";
+        }
+    }
+}
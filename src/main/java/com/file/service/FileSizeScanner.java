@@ -0,0 +1,36 @@
+package com.file.service;
+
+import com.file.config.UploadScanConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// 파일 크기 검사 단계 (file.upload.scan.max-size-bytes가 0보다 클 때만)
+@Component
+@RequiredArgsConstructor
+public class FileSizeScanner implements UploadScanner {
+
+    private final UploadScanConfig uploadScanConfig;
+
+    @Override
+    public String getName() {
+        return "file-size";
+    }
+
+    @Override
+    public int getCost() {
+        return 20;
+    }
+
+    @Override
+    public boolean supports(UploadScanContext context) {
+        return uploadScanConfig.getMaxSizeBytes() > 0 && context.getSize() >= 0;
+    }
+
+    @Override
+    public UploadScanVerdict scan(UploadScanContext context) {
+        if (context.getSize() > uploadScanConfig.getMaxSizeBytes()) {
+            return UploadScanVerdict.block("파일 크기 초과: " + context.getSize() + " > " + uploadScanConfig.getMaxSizeBytes());
+        }
+        return UploadScanVerdict.allow();
+    }
+}
@@ -0,0 +1,386 @@
+package com.file.service;
+
+import com.file.config.UploadStorageConfig;
+import com.file.entity.StoredBlob;
+import com.file.repository.StoredBlobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+    허용된 업로드 파일 저장 서비스 (중복 제거 + 참조 수 관리)
+
+    - 파일 내용은 ContentAddressedStore에, 해시별 참조 수는 stored_blobs 테이블에 보관
+    - 같은 내용이 다시 올라오면 파일은 그대로 두고 참조 수만 올림
+    - 참조 수는 업로드 요청이 아니라 UploadHistoryWriter가 이력과 같은 트랜잭션에서 올림
+      (요청 스레드는 DB를 기다리지 않고, 이력이 버려지면 참조도 생기지 않아 GC가 파일을 정리)
+    - 업로드 이력이 삭제되면 참조 수를 내리고, 0인 상태로 유예 기간이 지나면 GC가 파일을 지움
+    - 같은 해시에 대한 저장/GC는 해시별 잠금(스트라이프)으로 직렬화
+      저장할 때 파일 수정 시각을 갱신하므로, 참조가 반영되기 전의 파일은 유예 기간 동안 GC 대상이 아님
+      (여러 인스턴스가 같은 저장소를 공유하는 경우도 같은 유예 기간으로 경합을 피함)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileStorageService {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int HEX_DIGEST_MIN_LENGTH = 32;
+    private static final int SWEEP_PAGE_SIZE = 500;
+
+    private final ContentAddressedStore contentAddressedStore;
+    private final StoredBlobRepository storedBlobRepository;
+    private final UploadStorageConfig uploadStorageConfig;
+    private final PlatformTransactionManager transactionManager;
+
+    // synchronized 대신 ReentrantLock: 잠금 안에서 DB를 호출하므로 가상 스레드가 carrier에 고정되지 않도록
+    private final ReentrantLock[] locks = createLocks();
+    private ScheduledExecutorService collector;
+
+    @PostConstruct
+    public void startCollector() {
+        long interval = uploadStorageConfig.getGcIntervalMs();
+        if (!uploadStorageConfig.isEnabled() || interval <= 0) {
+            return;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("blob-gc-");
+        threadFactory.setDaemon(true);
+        collector = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        collector.scheduleWithFixedDelay(() -> {
+            try {
+                collectGarbage();
+            } catch (Exception e) {
+                log.error("저장소 GC 실패", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopCollector() {
+        if (collector != null) {
+            collector.shutdownNow();
+        }
+    }
+
+    /**
+     * 허용된 업로드 파일 저장
+     *
+     * multipart 임시 파일을 staging에 옮긴 뒤 해시를 계산해 저장합니다.
+     * 저장하지 않는 설정이거나 실패하면 null을 반환합니다.
+     * 저장 실패는 업로드 판정에 영향을 주지 않습니다.
+     *
+     * @return 파일 내용 해시
+     */
+    public String store(MultipartFile file) {
+        return store(file, null);
+    }
+
+    /**
+     * 허용된 업로드 파일 저장 (검사 단계에서 이미 staging에 둔 파일이 있으면 그 파일을 사용)
+     *
+     * @param staged 업로드 검사 중 stage()로 옮겨둔 파일 (없으면 null)
+     */
+    public String store(MultipartFile file, Path staged) {
+        if (!uploadStorageConfig.isEnabled() || file == null || file.isEmpty()) {
+            return null;
+        }
+
+        Path source = staged;
+        try {
+            if (source == null) {
+                source = stage(file);
+            }
+            return ingest(source);
+        } catch (Exception e) {
+            log.error("업로드 파일 저장 실패: " + file.getOriginalFilename(), e);
+            if (source != null) {
+                deleteQuietly(source);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 받아 둔 파일 저장 (이어 올리기처럼 받으면서 해시를 계산한 경우)
+     *
+     * 저장하지 않는 설정이면 파일을 그대로 두고 null을 반환합니다.
+     * 실패하면 파일을 지우고 null을 반환합니다.
+     */
+    public String store(Path received, String digest) {
+        if (!uploadStorageConfig.isEnabled()) {
+            return null;
+        }
+        try {
+            return ingest(received, digest);
+        } catch (Exception e) {
+            log.error("업로드 파일 저장 실패: " + received, e);
+            deleteQuietly(received);
+            return null;
+        }
+    }
+
+    /**
+     * multipart 임시 파일을 staging으로 이동
+     *
+     * transferTo(File)은 컨테이너가 임시 파일을 그대로 옮기고(같은 파일시스템이면 이름 변경만 일어남),
+     * transferTo(Path)는 스트림으로 복사하므로 File 버전을 사용합니다.
+     * 업로드 검사 단계가 파일 내용을 읽을 때도 이 파일을 사용합니다.
+     */
+    public Path stage(MultipartFile file) throws IOException {
+        Path staged = contentAddressedStore.newStagingFile();
+        try {
+            file.transferTo(staged.toFile());
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(staged);
+            throw e;
+        }
+        return staged;
+    }
+
+    /**
+     * staging 파일을 저장소에 넣음 (staging 파일은 옮겨지거나 삭제됨)
+     *
+     * DB는 건드리지 않습니다. 참조 수는 이력 저장과 함께 addReference()로 올라가고,
+     * 이력이 저장되지 않으면 참조 없는 파일로 남았다가 GC가 유예 기간 뒤에 정리합니다.
+     */
+    public String ingest(Path staged) throws IOException {
+        return ingest(staged, contentAddressedStore.digest(staged));
+    }
+
+    // 해시를 이미 계산한 staging 파일 저장 (digest는 file.upload.storage.digest-algorithm의 hex 값)
+    public String ingest(Path staged, String digest) throws IOException {
+        long size = Files.size(staged);
+
+        ReentrantLock lock = lockFor(digest);
+        lock.lock();
+        try {
+            boolean created = contentAddressedStore.commit(staged, digest);
+            // 참조가 반영될 때까지 GC가 지우지 않도록 (기존 파일이면 참조 0으로 유예 기간이 지났을 수 있음)
+            Files.setLastModifiedTime(contentAddressedStore.pathOf(digest), FileTime.from(Instant.now()));
+            log.debug("업로드 파일 저장: {} ({} bytes, {})", digest, size, created ? "신규" : "중복");
+        } finally {
+            lock.unlock();
+        }
+        return digest;
+    }
+
+    /**
+     * 참조 수 증가 (업로드 이력 저장과 같은 트랜잭션)
+     *
+     * 행이 없으면 파일 크기로 새로 등록합니다.
+     *
+     * @return 파일이 없어 참조하지 못했으면 false (이력은 파일 없이 저장)
+     */
+    @Transactional
+    public boolean addReference(String digest) {
+        LocalDateTime now = LocalDateTime.now();
+        if (storedBlobRepository.incrementRefCount(digest, now) == 1) {
+            return true;
+        }
+        long size;
+        try {
+            size = Files.size(contentAddressedStore.pathOf(digest));
+        } catch (IOException e) {
+            log.warn("참조할 저장 파일 없음: {} - {}", digest, e.getMessage());
+            return false;
+        }
+        storedBlobRepository.insertIfMissing(digest, size, now);
+        return storedBlobRepository.incrementRefCount(digest, now) == 1;
+    }
+
+    /**
+     * 참조 수 감소 (업로드 이력 삭제 시)
+     *
+     * 호출한 쪽 트랜잭션에 참여하므로 이력 삭제가 롤백되면 함께 롤백됩니다.
+     * 파일은 바로 지우지 않고 GC가 유예 기간 뒤에 지웁니다.
+     */
+    @Transactional
+    public boolean release(String digest) {
+        return storedBlobRepository.decrementRefCount(digest, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * 참조 없는 파일 정리
+     *
+     * 1. 참조 수가 0인 채로 유예 기간이 지난 행을 조건부 삭제 (그 사이 다시 참조되면 건너뜀) 후 파일 삭제
+     * 2. DB 행이 없는 blob 파일과 남은 staging 파일 중 유예 기간이 지난 것 삭제
+     *
+     * @return 삭제한 파일 수
+     */
+    public int collectGarbage() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(uploadStorageConfig.getGcGracePeriodMs() * 1_000_000L);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int removed = 0;
+
+        List<String> candidates = tx.execute(status ->
+                storedBlobRepository.findTop500ByRefCountAndUpdatedAtBefore(0L, cutoff).stream()
+                        .map(StoredBlob::getDigest)
+                        .toList());
+        Instant fileCutoff = Instant.now().minusMillis(uploadStorageConfig.getGcGracePeriodMs());
+        for (String digest : candidates) {
+            ReentrantLock lock = lockFor(digest);
+            lock.lock();
+            try {
+                // 방금 같은 내용이 다시 저장되어 참조 반영을 기다리는 중
+                Path file = contentAddressedStore.pathOf(digest);
+                if (Files.exists(file) && !olderThan(file, fileCutoff)) {
+                    continue;
+                }
+                Integer deleted = tx.execute(status -> storedBlobRepository.deleteIfUnreferenced(digest));
+                if (deleted != null && deleted == 1 && deleteFile(digest)) {
+                    removed++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        removed += sweepOrphans(fileCutoff);
+        if (removed > 0) {
+            log.info("저장소 GC: 파일 {}개 삭제", removed);
+        }
+        return removed;
+    }
+
+    // 저장소 사용량 (저장된 바이트, 중복 제거 전 바이트, 파일 수)
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStats() {
+        long stored = storedBlobRepository.sumStoredBytes();
+        long referenced = storedBlobRepository.sumReferencedBytes();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("blobCount", storedBlobRepository.count());
+        stats.put("storedBytes", stored);
+        stats.put("referencedBytes", referenced);
+        stats.put("savedBytes", Math.max(0L, referenced - stored));
+        return stats;
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    // DB 행이 없는 blob 파일 삭제. 행 존재 여부는 파일 SWEEP_PAGE_SIZE개씩 한 번에 조회
+    private int sweepOrphans(Instant cutoff) {
+        int removed = 0;
+        try (Stream<Path> blobs = contentAddressedStore.listBlobs()) {
+            List<String> page = new ArrayList<>(SWEEP_PAGE_SIZE);
+            for (Path file : (Iterable<Path>) blobs::iterator) {
+                if (!olderThan(file, cutoff)) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                if (!name.matches("^[0-9a-f]+$") || name.length() < HEX_DIGEST_MIN_LENGTH) {
+                    // 다른 파일시스템으로 복사하다 남은 임시 파일
+                    removed += deleteQuietly(file) ? 1 : 0;
+                    continue;
+                }
+                page.add(name);
+                if (page.size() == SWEEP_PAGE_SIZE) {
+                    removed += deleteUnreferenced(page, cutoff);
+                    page.clear();
+                }
+            }
+            removed += deleteUnreferenced(page, cutoff);
+        } catch (IOException e) {
+            log.warn("저장소 파일 목록 조회 실패: {}", e.getMessage());
+        }
+
+        try (Stream<Path> staging = contentAddressedStore.listStaging()) {
+            for (Path file : (Iterable<Path>) staging::iterator) {
+                if (olderThan(file, cutoff) && deleteQuietly(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("staging 파일 목록 조회 실패: {}", e.getMessage());
+        }
+        return removed;
+    }
+
+    private int deleteUnreferenced(List<String> digests, Instant cutoff) {
+        if (digests.isEmpty()) {
+            return 0;
+        }
+        Set<String> referenced = new HashSet<>();
+        storedBlobRepository.findAllById(digests).forEach(blob -> referenced.add(blob.getDigest()));
+
+        int removed = 0;
+        for (String digest : digests) {
+            if (referenced.contains(digest)) {
+                continue;
+            }
+            ReentrantLock lock = lockFor(digest);
+            lock.lock();
+            try {
+                // 조회 후 다시 저장된 파일은 수정 시각이 갱신되어 있음
+                if (olderThan(contentAddressedStore.pathOf(digest), cutoff) && deleteFile(digest)) {
+                    removed++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    private boolean deleteFile(String digest) {
+        try {
+            return contentAddressedStore.delete(digest);
+        } catch (IOException e) {
+            log.warn("저장소 파일 삭제 실패: {} - {}", digest, e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean olderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("파일 삭제 실패: {} - {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    private ReentrantLock lockFor(String digest) {
+        return locks[Math.floorMod(digest.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static ReentrantLock[] createLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
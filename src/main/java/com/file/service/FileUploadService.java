@@ -1,10 +1,15 @@
 package com.file.service;
 
+import com.file.config.PolicyFallbackConfig;
+import com.file.dto.DecisionTrace;
+import com.file.dto.RuleSource;
+import com.file.dto.UploadHistoryResponse;
 import com.file.entity.UploadHistory;
 import com.file.repository.UploadHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -17,9 +22,12 @@ import java.util.List;
 @Transactional
 public class FileUploadService {
 
-    private final FixedExtensionService fixedExtensionService;
-    private final CustomExtensionService customExtensionService;
+    private final ExtensionPolicyHolder extensionPolicyHolder;
     private final UploadHistoryRepository uploadHistoryRepository;
+    private final UploadHistoryWriter uploadHistoryWriter;
+    private final UploadEventService uploadEventService;
+    private final FileStorageService fileStorageService;
+    private final PolicyFallbackConfig policyFallbackConfig;
 
     /**
      * 파일 업로드 허용 여부 종합 판단
@@ -27,54 +35,121 @@ public class FileUploadService {
      * 이 메서드는 설정 파일 기반으로 개선된 다른 서비스들을 활용해서
      * 더 정확하고 유연한 판단을 수행합니다. 로깅을 추가해서
      * 운영 중에 어떤 파일들이 어떤 이유로 차단되는지 추적할 수 있습니다.
+     *
+     * 판정은 메모리의 정책 스냅샷(ExtensionPolicyHolder)으로만 하므로 DB 커넥션을 쓰지 않습니다.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean isFileUploadAllowed(String filename) {
+        return isFileUploadAllowed(filename, null);
+    }
+
+    /**
+     * 파일 업로드 허용 여부 종합 판단 (판정 추적 포함)
+     *
+     * trace가 null이 아니면 매칭 규칙과 출처, 단계별 소요 시간(ns)을 기록합니다.
+     * trace가 null이면 시간 측정과 규칙 기록을 모두 건너뜁니다.
+     *
+     * 정책 스냅샷은 처음에 한 번만 꺼내므로, 판정 도중 정책이 교체되어도
+     * 이 요청은 시작할 때의 정책으로 끝까지 판정됩니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isFileUploadAllowed(String filename, DecisionTrace trace) {
+        long stageStart = trace != null ? System.nanoTime() : 0L;
+        CompiledExtensionPolicy policy = extensionPolicyHolder.current();
         String extension = extractFileExtension(filename);
+        if (trace != null) {
+            trace.setPolicyVersion(policy.getVersion());
+            trace.setConfigRevision(policy.getConfigRevision());
+            trace.setExtension(extension);
+            stageStart = trace.stage("extract", stageStart);
+        }
+
+        // DB와 로컬 스냅샷 모두에서 정책을 불러오지 못한 경우 설정된 장애 시 판정 방식 적용
+        if (!policy.isLoaded()) {
+            boolean allowed = policyFallbackConfig.getFailMode() == PolicyFallbackConfig.FailMode.OPEN;
+            log.debug("확장자 정책 없음. fail-{} 판정: {}", policyFallbackConfig.getFailMode().name().toLowerCase(), filename);
+            if (trace != null) {
+                trace.matched(RuleSource.FALLBACK, "fallback:fail-" + policyFallbackConfig.getFailMode().name().toLowerCase());
+            }
+            return finish(trace, allowed);
+        }
 
         // 확장자가 없는 파일은 허용
         if (extension == null) {
             log.debug("확장자 없는 파일 허용: {}", filename);
-            return true;
+            return finish(trace, true);
         }
 
-        // 고정 확장자 차단 여부 확인
-        if (fixedExtensionService.isFixedExtensionBlocked(extension)) {
+        // 고정 확장자 차단 여부 확인 (DB 행이 없으면 null)
+        Boolean fixedBlocked = policy.findFixedStatus(extension);
+        if (trace != null) {
+            stageStart = trace.stage("fixed", stageStart);
+        }
+        if (Boolean.TRUE.equals(fixedBlocked)) {
             log.info("고정 확장자 정책에 의해 차단: {} (확장자: {})", filename, extension);
-            return false;
+            if (trace != null) {
+                trace.matched(RuleSource.FIXED, "fixed:" + extension);
+            }
+            return finish(trace, false);
         }
 
         // 커스텀 확장자 차단 여부 확인
-        if (customExtensionService.isCustomExtensionExists(extension)) {
+        boolean customBlocked = policy.isCustomBlocked(extension);
+        if (trace != null) {
+            trace.stage("custom", stageStart);
+        }
+        if (customBlocked) {
             log.info("커스텀 확장자 정책에 의해 차단: {} (확장자: {})", filename, extension);
-            return false;
+            if (trace != null) {
+                trace.matched(RuleSource.CUSTOM, "custom:" + extension);
+            }
+            return finish(trace, false);
         }
 
         log.debug("파일 업로드 허용: {} (확장자: {})", filename, extension);
-        return true;
+        if (trace != null) {
+            // 허용 판정에 관여한 고정 확장자 규칙 (체크 해제 상태 또는 설정 파일 기본값)
+            if (fixedBlocked != null) {
+                trace.matched(RuleSource.FIXED, "fixed:" + extension);
+            } else if (policy.isConfiguredFixed(extension)) {
+                trace.matched(RuleSource.CONFIG, "config:" + extension);
+            }
+        }
+        return finish(trace, true);
     }
 
     /**
      * 업로드 시도 이력 기록
+     *
+     * 판정 결과는 DB 저장 성공 여부와 관계없이 실시간 피드로도 발행합니다.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void recordUploadAttempt(String filename, boolean allowed) {
-        try {
-            String extension = extractFileExtension(filename);
-
-            UploadHistory history = new UploadHistory();
-            history.setFileName(filename);
-            history.setExtension(extension);
-            history.setAllowed(allowed);
-            history.setUploadTime(LocalDateTime.now());
+        recordUploadAttempt(filename, allowed, null);
+    }
 
-            uploadHistoryRepository.save(history);
+    /**
+     * 업로드 시도 이력 기록 (저장된 파일 해시 포함)
+     *
+     * DB 저장은 UploadHistoryWriter가 백그라운드에서 하므로 업로드 요청은 DB를 기다리지 않습니다
+     * (트랜잭션도 시작하지 않아 커넥션을 잡지 않음). 저장은 best-effort라 DB 장애 중에는 이력이 빠질 수 있습니다.
+     * 저장된 파일의 참조 수는 이력과 같은 트랜잭션에서 올라가므로, 이력이 빠지면 참조도 생기지 않고
+     * 파일은 저장소 GC가 유예 기간 뒤에 정리합니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void recordUploadAttempt(String filename, boolean allowed, String blobDigest) {
+        String extension = extractFileExtension(filename);
+        LocalDateTime uploadTime = LocalDateTime.now();
 
-            log.debug("업로드 시도 이력 기록: {} - {}", filename, allowed ? "허용" : "차단");
+        UploadHistory history = new UploadHistory();
+        history.setFileName(filename);
+        history.setExtension(extension);
+        history.setAllowed(allowed);
+        history.setUploadTime(uploadTime);
+        history.setBlobDigest(blobDigest);
+        uploadHistoryWriter.submit(history);
 
-        } catch (Exception e) {
-            log.error("업로드 이력 기록 실패: " + filename, e);
-            // 이력 기록 실패가 핵심 기능을 방해하지 않도록 예외를 흡수
-        }
+        uploadEventService.publish(new UploadHistoryResponse(filename, extension, allowed, uploadTime));
     }
 
     /**
@@ -86,9 +161,40 @@ public class FileUploadService {
     }
 
     /**
-     * 파일명에서 확장자 추출 (내부 유틸리티)
+     * 업로드 이력 삭제
+     *
+     * 저장된 파일이 있으면 같은 트랜잭션에서 참조 수를 내립니다.
+     * 다른 이력이 같은 내용을 참조하지 않으면 GC가 유예 기간 뒤에 파일을 지웁니다.
+     */
+    public boolean deleteUploadHistory(Long id) {
+        try {
+            UploadHistory history = uploadHistoryRepository.findById(id).orElse(null);
+            if (history == null) {
+                return false;
+            }
+            uploadHistoryRepository.delete(history);
+            if (history.getBlobDigest() != null) {
+                fileStorageService.release(history.getBlobDigest());
+            }
+            log.info("업로드 이력 삭제: {} ({})", history.getFileName(), id);
+            return true;
+        } catch (Exception e) {
+            log.error("업로드 이력 삭제 실패: " + id, e);
+            return false;
+        }
+    }
+
+    private boolean finish(DecisionTrace trace, boolean allowed) {
+        if (trace != null) {
+            trace.finish(allowed);
+        }
+        return allowed;
+    }
+
+    /**
+     * 파일명에서 확장자 추출 (내부 유틸리티, 업로드 검사 대상 생성에도 사용)
      */
-    private String extractFileExtension(String filename) {
+    static String extractFileExtension(String filename) {
         if (filename == null || filename.trim().isEmpty()) {
             return null;
         }
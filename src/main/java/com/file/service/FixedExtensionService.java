@@ -22,6 +22,7 @@ public class FixedExtensionService {
 
     private final FixedExtensionRepository fixedExtensionRepository;
     private final ExtensionPolicyConfig extensionPolicyConfig;
+    private final PolicyStateService policyStateService;
 
     /**
      * 애플리케이션 시작 시 고정 확장자 초기화
@@ -48,30 +49,7 @@ public class FixedExtensionService {
                 return;
             }
 
-            // 현재 DB에 있는 고정 확장자들 조회
-            Set<String> existingExtensions = fixedExtensionRepository.findAll()
-                    .stream()
-                    .map(FixedExtension::getExtension)
-                    .collect(Collectors.toSet());
-
-            // 설정 파일에는 있지만 DB에 없는 확장자들 생성
-            int createdCount = 0;
-            for (String configExt : configuredExtensions) {
-                String normalizedExt = normalizeExtension(configExt);
-
-                if (!existingExtensions.contains(normalizedExt)) {
-                    FixedExtension newExtension = new FixedExtension();
-                    newExtension.setExtension(normalizedExt);
-                    newExtension.setBlocked(false); // 기본값: 허용 상태
-                    newExtension.setCreatedAt(LocalDateTime.now());
-                    newExtension.setUpdatedAt(LocalDateTime.now());
-
-                    fixedExtensionRepository.save(newExtension);
-                    createdCount++;
-
-                    log.debug("새로운 고정 확장자 생성: {}", normalizedExt);
-                }
-            }
+            int createdCount = seedConfiguredExtensions();
 
             log.info("고정 확장자 초기화 완료. 새로 생성된 확장자: {}개", createdCount);
 
@@ -81,6 +59,55 @@ public class FixedExtensionService {
         }
     }
 
+    /**
+     * 설정 파일에는 있지만 DB에 없는 고정 확장자를 기본값(허용)으로 생성
+     *
+     * 시작 시 초기화에서 사용합니다.
+     *
+     * @return 새로 생성된 확장자 수
+     */
+    public int seedConfiguredExtensions() {
+        return seedConfiguredExtensions(extensionPolicyConfig.getFixedExtensions());
+    }
+
+    /**
+     * 주어진 고정 확장자 목록 중 DB에 없는 것을 기본값(허용)으로 생성
+     *
+     * 설정 파일 재적용(ExtensionPolicyReloader)은 새 목록을 설정 빈에 반영하기 전에 이 메서드로 먼저 생성합니다.
+     */
+    public int seedConfiguredExtensions(List<String> configuredExtensions) {
+        if (configuredExtensions == null || configuredExtensions.isEmpty()) {
+            return 0;
+        }
+
+        // 현재 DB에 있는 고정 확장자들 조회
+        Set<String> existingExtensions = fixedExtensionRepository.findAll()
+                .stream()
+                .map(FixedExtension::getExtension)
+                .collect(Collectors.toSet());
+
+        // 설정 파일에는 있지만 DB에 없는 확장자들 생성
+        int createdCount = 0;
+        for (String configExt : configuredExtensions) {
+            String normalizedExt = normalizeExtension(configExt);
+
+            if (!existingExtensions.contains(normalizedExt)) {
+                FixedExtension newExtension = new FixedExtension();
+                newExtension.setExtension(normalizedExt);
+                newExtension.setBlocked(false); // 기본값: 허용 상태
+                newExtension.setCreatedAt(LocalDateTime.now());
+                newExtension.setUpdatedAt(LocalDateTime.now());
+
+                fixedExtensionRepository.save(newExtension);
+                existingExtensions.add(normalizedExt);
+                createdCount++;
+
+                log.debug("새로운 고정 확장자 생성: {}", normalizedExt);
+            }
+        }
+        return createdCount;
+    }
+
     /**
      * 모든 고정 확장자 조회 (화면 표시용)
      *
@@ -101,43 +128,65 @@ public class FixedExtensionService {
      */
     public boolean toggleExtensionStatus(String extension, boolean blocked) {
         try {
-            String normalizedExt = normalizeExtension(extension);
-
-            // 설정 파일에 정의된 유효한 고정 확장자인지 확인
-            List<String> configuredExtensions = extensionPolicyConfig.getFixedExtensions();
-            boolean isValidFixedExtension = configuredExtensions.stream()
-                    .anyMatch(configExt -> normalizeExtension(configExt).equals(normalizedExt));
-
-            if (!isValidFixedExtension) {
-                log.warn("유효하지 않은 고정 확장자 수정 시도: {}", normalizedExt);
+            // 정책 버전 증가 (정책 상태 행 잠금)
+            if (policyStateService.reserve(0) == PolicyStateService.STATE_MISSING) {
+                log.warn("정책 상태 행이 없어 고정 확장자 상태를 변경할 수 없음: {}", extension);
                 return false;
             }
 
-            // 기존 설정 조회 또는 새로 생성 (이론적으로는 @PostConstruct에서 모두 생성되어야 함)
-            FixedExtension fixedExt = fixedExtensionRepository.findByExtension(normalizedExt)
-                    .orElseGet(() -> {
-                        log.info("누락된 고정 확장자 발견. 즉시 생성: {}", normalizedExt);
-                        FixedExtension newExt = new FixedExtension();
-                        newExt.setExtension(normalizedExt);
-                        newExt.setCreatedAt(LocalDateTime.now());
-                        return newExt;
-                    });
-
-            // 상태 업데이트
-            fixedExt.setBlocked(blocked);
-            fixedExt.setUpdatedAt(LocalDateTime.now());
-
-            fixedExtensionRepository.save(fixedExt);
-
-            log.info("고정 확장자 상태 변경: {} -> {}", normalizedExt, blocked ? "차단" : "허용");
+            if (!applyToggle(extension, blocked)) {
+                policyStateService.rollbackReservation();
+                return false;
+            }
             return true;
 
         } catch (Exception e) {
+            // 예약한 정책 버전 증가가 변경 없이 커밋되지 않도록 롤백
+            policyStateService.rollbackReservation();
             log.error("고정 확장자 상태 변경 실패: " + extension, e);
             return false;
         }
     }
 
+    /**
+     * 고정 확장자 차단 상태 변경 (검증 + 저장)
+     *
+     * 정책 상태 예약(PolicyStateService.reserve)은 호출자가 같은 트랜잭션에서 먼저 해야 합니다.
+     * 일괄 변경 API에서 여러 확장자를 하나의 정책 버전으로 묶을 때도 사용됩니다.
+     */
+    public boolean applyToggle(String extension, boolean blocked) {
+        String normalizedExt = normalizeExtension(extension);
+
+        // 설정 파일에 정의된 유효한 고정 확장자인지 확인
+        List<String> configuredExtensions = extensionPolicyConfig.getFixedExtensions();
+        boolean isValidFixedExtension = configuredExtensions.stream()
+                .anyMatch(configExt -> normalizeExtension(configExt).equals(normalizedExt));
+
+        if (!isValidFixedExtension) {
+            log.warn("유효하지 않은 고정 확장자 수정 시도: {}", normalizedExt);
+            return false;
+        }
+
+        // 기존 설정 조회 또는 새로 생성 (이론적으로는 @PostConstruct에서 모두 생성되어야 함)
+        FixedExtension fixedExt = fixedExtensionRepository.findByExtension(normalizedExt)
+                .orElseGet(() -> {
+                    log.info("누락된 고정 확장자 발견. 즉시 생성: {}", normalizedExt);
+                    FixedExtension newExt = new FixedExtension();
+                    newExt.setExtension(normalizedExt);
+                    newExt.setCreatedAt(LocalDateTime.now());
+                    return newExt;
+                });
+
+        // 상태 업데이트
+        fixedExt.setBlocked(blocked);
+        fixedExt.setUpdatedAt(LocalDateTime.now());
+
+        fixedExtensionRepository.save(fixedExt);
+
+        log.info("고정 확장자 상태 변경: {} -> {}", normalizedExt, blocked ? "차단" : "허용");
+        return true;
+    }
+
     /**
      * 특정 고정 확장자의 차단 여부 확인
      *
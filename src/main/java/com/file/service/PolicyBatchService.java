@@ -0,0 +1,99 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.dto.PolicyBatchResponse;
+import com.file.dto.PolicyOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// 정책 일괄 변경 서비스
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyBatchService {
+
+    private final FixedExtensionService fixedExtensionService;
+    private final CustomExtensionService customExtensionService;
+    private final PolicyStateService policyStateService;
+    private final ExtensionPolicyConfig extensionPolicyConfig;
+
+    /**
+     * 고정 확장자 토글, 커스텀 확장자 추가/삭제를 한 트랜잭션으로 적용
+     *
+     * 1. 요청 형태 검증 (빈 목록, 최대 작업 수, 같은 확장자 중복 작업)
+     * 2. 정책 상태 행을 조건부 갱신해서 최대 개수 확인 + 정책 버전 1회 증가
+     * 3. 각 작업 적용. 하나라도 실패하면 PolicyMutationException으로 전체 롤백
+     *
+     * 최대 개수와 중복 검사는 정책 상태 행 하나의 잠금으로 직렬화되므로
+     * 테이블 잠금 없이 동시 요청에서도 지켜집니다.
+     */
+    @Transactional
+    public PolicyBatchResponse applyBatch(List<PolicyOperation> operations) {
+        validateShape(operations);
+
+        int customDelta = 0;
+        for (PolicyOperation op : operations) {
+            if (op.getType() == PolicyOperation.Type.ADD) customDelta++;
+            if (op.getType() == PolicyOperation.Type.REMOVE) customDelta--;
+        }
+
+        long version = policyStateService.reserve(customDelta);
+        if (version == PolicyStateService.LIMIT_EXCEEDED) {
+            throw new PolicyMutationException("커스텀 확장자 최대 개수("
+                    + extensionPolicyConfig.getMaxCustomExtensions() + "개) 초과");
+        }
+        if (version == PolicyStateService.STATE_MISSING) {
+            throw new PolicyMutationException("정책 상태를 준비하지 못해 변경할 수 없음");
+        }
+
+        for (int i = 0; i < operations.size(); i++) {
+            PolicyOperation op = operations.get(i);
+            boolean ok = switch (op.getType()) {
+                case TOGGLE -> fixedExtensionService.applyToggle(op.getExtension(), op.isBlocked());
+                case ADD -> customExtensionService.applyAdd(op.getExtension());
+                case REMOVE -> customExtensionService.applyRemove(op.getExtension());
+            };
+            if (!ok) {
+                throw new PolicyMutationException((i + 1) + "번째 작업 실패: "
+                        + op.getType() + " " + op.getExtension() + " (형식/중복/존재 여부 확인)");
+            }
+        }
+
+        log.info("정책 일괄 변경 완료. 작업: {}개, 정책 버전: {}", operations.size(), version);
+        return new PolicyBatchResponse(version, operations.size());
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    // 정책 영향 시뮬레이션도 같은 규칙으로 요청 형태를 검증
+    void validateShape(List<PolicyOperation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new PolicyMutationException("작업 목록이 비어 있음");
+        }
+        if (operations.size() > extensionPolicyConfig.getMaxBatchOperations()) {
+            throw new PolicyMutationException("한 번에 최대 "
+                    + extensionPolicyConfig.getMaxBatchOperations() + "개 작업까지 가능");
+        }
+
+        // 같은 확장자를 한 요청에서 두 번 건드리면 적용 순서에 따라 결과가 달라지므로 거부
+        Set<String> seen = new HashSet<>();
+        for (PolicyOperation op : operations) {
+            if (op == null || op.getType() == null || op.getExtension() == null || op.getExtension().isBlank()) {
+                throw new PolicyMutationException("작업 종류와 확장자는 필수");
+            }
+            String key = op.getExtension().trim().toLowerCase();
+            if (key.startsWith(".")) {
+                key = key.substring(1);
+            }
+            if (!seen.add(key)) {
+                throw new PolicyMutationException("같은 확장자에 대한 중복 작업: " + key);
+            }
+        }
+    }
+}
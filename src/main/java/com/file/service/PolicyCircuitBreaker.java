@@ -0,0 +1,72 @@
+package com.file.service;
+
+import com.file.config.PolicyFallbackConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+    확장자 정책 로딩용 회로 차단기
+
+    - CLOSED: 정상. 연속 실패가 failureThreshold에 도달하면 OPEN
+    - OPEN: DB를 조회하지 않고 바로 거절. openDurationMs가 지나면 HALF_OPEN
+    - HALF_OPEN: 한 번만 시도를 허용. 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicyCircuitBreaker {
+
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final PolicyFallbackConfig policyFallbackConfig;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    // DB 조회를 시도해도 되는지 확인. true를 받은 쪽은 반드시 결과를 기록해야 함
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAtNanos);
+                if (elapsedMs < policyFallbackConfig.getOpenDurationMs()) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                log.info("정책 로딩 회로 재시도 (HALF_OPEN)");
+                return true;
+            default:
+                // HALF_OPEN: 시도 중인 요청 하나 외에는 거절
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("정책 로딩 회로 닫힘 (DB 복구)");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= policyFallbackConfig.getFailureThreshold()) {
+            if (state != State.OPEN) {
+                log.warn("정책 로딩 회로 열림. 연속 실패 {}회, {}ms 동안 DB 조회 중단",
+                        consecutiveFailures, policyFallbackConfig.getOpenDurationMs());
+            }
+            state = State.OPEN;
+            openedAtNanos = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
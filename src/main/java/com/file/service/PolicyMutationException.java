@@ -0,0 +1,9 @@
+package com.file.service;
+
+// 정책 변경 검증 실패 (트랜잭션 전체 롤백)
+public class PolicyMutationException extends RuntimeException {
+
+    public PolicyMutationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,145 @@
+package com.file.service;
+
+import com.file.config.UploadExportConfig;
+import com.file.dto.PolicyOperation;
+import com.file.dto.PolicySimulationResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    정책 영향 시뮬레이션 서비스 (드라이런)
+
+    - 제안된 변경을 현재 정책 스냅샷의 사본에 적용하고, 기간 내 업로드 이력을 현재/변경 정책으로 다시 판정
+    - 확장자 정책 판정은 확장자에만 의존하므로 행마다 판정하지 않고
+      DB에서 확장자별로 집계한 결과를 커서로 읽어 확장자당 한 번씩 판정
+      (시도 수천만 건도 확장자 종류 수만큼만 판정하고, 집계는 인덱스만 읽음)
+    - 현재 정책 스냅샷은 불변이므로 시뮬레이션이 실제 판정에 영향을 주지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicySimulationService {
+
+    private static final String AGGREGATE =
+            "SELECT extension, COUNT(*) AS attempts, SUM(CASE WHEN allowed = TRUE THEN 1 ELSE 0 END) AS allowed_count"
+                    + " FROM upload_history WHERE upload_time >= ? AND upload_time < ? GROUP BY extension";
+
+    private final ExtensionPolicyHolder extensionPolicyHolder;
+    private final PolicyBatchService policyBatchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final UploadExportConfig uploadExportConfig;
+
+    /**
+     * 정책 변경 영향 계산
+     *
+     * 1. 요청 형태 검증 (/api/policy/batch와 같은 규칙)
+     * 2. 현재 정책 스냅샷 기준으로 각 작업 검증 후 사본에 적용 (DB 변경 없음)
+     * 3. 기간(from 이상, to 미만) 내 이력을 확장자별로 집계해서 읽으며 현재/변경 정책 판정 비교
+     *
+     * 검증에 실패하면 PolicyMutationException을 던집니다.
+     */
+    public PolicySimulationResponse simulate(LocalDateTime from, LocalDateTime to, List<PolicyOperation> operations) {
+        policyBatchService.validateShape(operations);
+        CompiledExtensionPolicy current = extensionPolicyHolder.current();
+        if (!current.isLoaded()) {
+            throw new PolicyMutationException("현재 정책을 불러오지 못해 비교할 수 없음");
+        }
+        CompiledExtensionPolicy proposed = propose(current, operations);
+
+        long started = System.nanoTime();
+        long[] totals = new long[4]; // 시도 수, 확장자 종류 수, 새로 차단, 새로 허용
+        List<PolicySimulationResponse.ExtensionImpact> impacts = new ArrayList<>();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        tx.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(AGGREGATE,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(UploadHistoryExportService.streamingFetchSize(connection, uploadExportConfig.getFetchSize()));
+            ps.setObject(1, from);
+            ps.setObject(2, to);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            String extension = rs.getString("extension");
+            long attempts = rs.getLong("attempts");
+            long allowedCount = rs.getLong("allowed_count");
+            totals[0] += attempts;
+            totals[1]++;
+
+            boolean before = current.isBlocked(extension);
+            boolean after = proposed.isBlocked(extension);
+            if (before == after) {
+                return;
+            }
+            PolicySimulationResponse.ExtensionImpact.Change change = after
+                    ? PolicySimulationResponse.ExtensionImpact.Change.NEWLY_BLOCKED
+                    : PolicySimulationResponse.ExtensionImpact.Change.NEWLY_ALLOWED;
+            totals[after ? 2 : 3] += attempts;
+            impacts.add(new PolicySimulationResponse.ExtensionImpact(extension, change, attempts, allowedCount));
+        }));
+
+        impacts.sort(Comparator.comparingLong(PolicySimulationResponse.ExtensionImpact::getAttempts).reversed()
+                .thenComparing(PolicySimulationResponse.ExtensionImpact::getExtension));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000L;
+
+        log.info("정책 영향 시뮬레이션: {} ~ {}, 작업 {}개, 시도 {}건 중 새로 차단 {} / 새로 허용 {} ({}ms)",
+                from, to, operations.size(), totals[0], totals[2], totals[3], elapsedMs);
+        return new PolicySimulationResponse(current.getVersion(), totals[0], (int) totals[1],
+                totals[2], totals[3], impacts, elapsedMs);
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    // 실제 일괄 변경과 같은 기준으로 검증하되 DB 대신 현재 정책 스냅샷을 사용
+    private CompiledExtensionPolicy propose(CompiledExtensionPolicy current, List<PolicyOperation> operations) {
+        Map<String, Boolean> fixedChanges = new HashMap<>();
+        Set<String> added = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+
+        for (int i = 0; i < operations.size(); i++) {
+            PolicyOperation op = operations.get(i);
+            String extension = CustomExtensionService.normalizeExtension(op.getExtension());
+            boolean ok = switch (op.getType()) {
+                case TOGGLE -> {
+                    // 같은 확장자 중복 작업은 validateShape에서 이미 거부
+                    if (!current.isConfiguredFixed(extension)) {
+                        yield false;
+                    }
+                    fixedChanges.put(extension, op.isBlocked());
+                    yield true;
+                }
+                case ADD -> CustomExtensionService.isValidExtension(extension, current.getMaxExtensionLength())
+                        && !current.isConfiguredFixed(extension)
+                        && !current.isCustomBlocked(extension)
+                        && added.add(extension);
+                case REMOVE -> current.isCustomBlocked(extension) && removed.add(extension);
+            };
+            if (!ok) {
+                throw new PolicyMutationException((i + 1) + "번째 작업 실패: "
+                        + op.getType() + " " + op.getExtension() + " (형식/중복/존재 여부 확인)");
+            }
+        }
+
+        if (current.getCustom().size() + added.size() - removed.size() > current.getMaxCustomExtensions()) {
+            throw new PolicyMutationException("커스텀 확장자 최대 개수(" + current.getMaxCustomExtensions() + "개) 초과");
+        }
+        return current.withChanges(fixedChanges, added, removed);
+    }
+}
@@ -0,0 +1,120 @@
+package com.file.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.file.config.PolicyFallbackConfig;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+    마지막으로 DB에서 정상 로딩한 정책 스냅샷의 로컬 파일 보관소
+
+    - 정책이 바뀔 때마다 임시 파일에 쓴 뒤 이름 변경으로 교체 (쓰다 만 파일을 읽지 않음)
+    - 시작 시 DB보다 먼저 읽어서 DB에 연결할 수 없어도 마지막 정책으로 판정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicySnapshotStore {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final PolicyFallbackConfig policyFallbackConfig;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    // 저장 실패는 판정에 영향이 없으므로 로깅만 함
+    public boolean save(CompiledExtensionPolicy policy) {
+        Path file = snapshotFile();
+        try {
+            Path dir = file.getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), SnapshotFile.from(policy));
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("정책 스냅샷 저장: {} (버전 {})", file, policy.getVersion());
+            return true;
+        } catch (IOException e) {
+            log.warn("정책 스냅샷 저장 실패: {} - {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    // 파일이 없거나 읽을 수 없으면 빈 값
+    public Optional<CompiledExtensionPolicy> load() {
+        Path file = snapshotFile();
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            SnapshotFile snapshot = objectMapper.readValue(file.toFile(), SnapshotFile.class);
+            if (snapshot.getFormatVersion() != FORMAT_VERSION || snapshot.getVersion() <= 0L) {
+                log.warn("정책 스냅샷 형식이 맞지 않아 무시: {}", file);
+                return Optional.empty();
+            }
+            log.info("로컬 정책 스냅샷 로딩: {} (버전 {}, 저장 시각 {})", file, snapshot.getVersion(), snapshot.getSavedAt());
+            return Optional.of(snapshot.toPolicy());
+        } catch (IOException | RuntimeException e) {
+            log.warn("정책 스냅샷 읽기 실패: {} - {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public Path snapshotFile() {
+        return Path.of(policyFallbackConfig.getSnapshotLocation()).toAbsolutePath();
+    }
+
+    // 파일 형식 (CompiledExtensionPolicy를 그대로 직렬화하지 않고 필요한 값만 보관)
+    @Data
+    @NoArgsConstructor
+    static class SnapshotFile {
+        private int formatVersion;
+        private long version;
+        private long configRevision;
+        private List<String> configuredFixed = new ArrayList<>();
+        private Map<String, Boolean> fixedStatus = new HashMap<>();
+        private List<String> custom = new ArrayList<>();
+        private int maxCustomExtensions;
+        private int maxExtensionLength;
+        private String savedAt;
+
+        static SnapshotFile from(CompiledExtensionPolicy policy) {
+            SnapshotFile snapshot = new SnapshotFile();
+            snapshot.setFormatVersion(FORMAT_VERSION);
+            snapshot.setVersion(policy.getVersion());
+            snapshot.setConfigRevision(policy.getConfigRevision());
+            snapshot.setConfiguredFixed(new ArrayList<>(policy.getConfiguredFixed()));
+            snapshot.setFixedStatus(new HashMap<>(policy.getFixedStatus()));
+            snapshot.setCustom(new ArrayList<>(policy.getCustom()));
+            snapshot.setMaxCustomExtensions(policy.getMaxCustomExtensions());
+            snapshot.setMaxExtensionLength(policy.getMaxExtensionLength());
+            snapshot.setSavedAt(Instant.now().toString());
+            return snapshot;
+        }
+
+        CompiledExtensionPolicy toPolicy() {
+            return new CompiledExtensionPolicy(version, configRevision, configuredFixed, fixedStatus, custom,
+                    maxCustomExtensions, maxExtensionLength);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.config.ReadYourWritesWindow;
+import com.file.repository.CustomExtensionRepository;
+import com.file.repository.PolicyStateRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+// 정책 상태(버전, 커스텀 확장자 개수) 관리 서비스
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolicyStateService {
+
+    public static final long STATE_ID = 1L;
+    public static final long LIMIT_EXCEEDED = -1L;
+    public static final long STATE_MISSING = -2L;
+
+    private final PolicyStateRepository policyStateRepository;
+    private final CustomExtensionRepository customExtensionRepository;
+    private final ExtensionPolicyConfig extensionPolicyConfig;
+    private final ExtensionPolicyHolder extensionPolicyHolder;
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    /**
+     * 애플리케이션 시작 시 정책 상태 행 준비
+     *
+     * 정책 상태 행이 없으면 생성하고, 커스텀 확장자 개수를 실제 행 수에 맞춥니다.
+     * 초기화 실패가 애플리케이션 시작을 방해하지 않도록 예외는 로깅만 합니다.
+     * (행이 없으면 첫 정책 변경 때 reserve에서 생성)
+     */
+    @PostConstruct
+    public void initializePolicyState() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("정책 상태 초기화 중 오류 발생. 수동 확인이 필요합니다.", e);
+        }
+    }
+
+    /**
+     * 커스텀 확장자 개수를 실제 저장된 행 수로 다시 맞춤
+     *
+     * 읽은 뒤 엔티티 전체를 저장하면 그 사이 다른 인스턴스가 커밋한 정책 버전까지 되돌리므로
+     * 개수만 UPDATE 한 번으로 갱신합니다. 행이 없으면(첫 실행) 생성합니다.
+     */
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        if (policyStateRepository.reconcileCustomCount(STATE_ID, now) == 0) {
+            try {
+                policyStateRepository.insertIfMissing(STATE_ID, now);
+            } catch (DataIntegrityViolationException e) {
+                // 다른 인스턴스가 먼저 생성
+                policyStateRepository.reconcileCustomCount(STATE_ID, now);
+            }
+        }
+
+        log.info("정책 상태 초기화 완료. 버전: {}, 커스텀 확장자: {}개",
+                policyStateRepository.findVersion(STATE_ID), customExtensionRepository.count());
+    }
+
+    /**
+     * 현재 트랜잭션에서 정책 변경 예약
+     *
+     * 정책 상태 행 하나를 조건부로 갱신해서 커스텀 확장자 개수를 customDelta만큼 바꾸고
+     * 정책 버전을 1 올립니다. 갱신된 행은 커밋까지 잠기므로 모든 정책 변경이 이 행에서
+     * 직렬화되고, 이후의 중복/존재 확인도 다른 관리자의 변경과 경합하지 않습니다.
+     * 테이블 잠금 없이 행 하나만 잠급니다.
+     *
+     * 시작 시 초기화가 실패해서(DB 중단 등) 행이 없으면 이 트랜잭션에서 생성한 뒤 다시 시도합니다.
+     *
+     * @return 변경 후 정책 버전. 최대 개수를 넘으면 LIMIT_EXCEEDED, 행을 만들지 못하면 STATE_MISSING
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long reserve(int customDelta) {
+        LocalDateTime now = LocalDateTime.now();
+        int maxCount = extensionPolicyConfig.getMaxCustomExtensions();
+        int updated = policyStateRepository.applyChange(STATE_ID, customDelta, maxCount, now);
+        if (updated == 0) {
+            if (policyStateRepository.existsById(STATE_ID)) {
+                return LIMIT_EXCEEDED;
+            }
+            // 동시에 생성하면 한쪽은 기본 키 중복으로 실패하고, 호출자가 트랜잭션을 롤백함
+            if (policyStateRepository.insertIfMissing(STATE_ID, now) == 0) {
+                return STATE_MISSING;
+            }
+            log.warn("정책 상태 행이 없어 새로 생성. 시작 시 초기화 실패 여부를 확인하세요.");
+            if (policyStateRepository.applyChange(STATE_ID, customDelta, maxCount, now) == 0) {
+                return LIMIT_EXCEEDED;
+            }
+        }
+
+        long version = policyStateRepository.findVersion(STATE_ID);
+        // 커밋된 변경만 정책 스냅샷에 반영. 복제 지연 대비로 잠시 읽기도 primary로 보냄
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWritesWindow.markWrite();
+                try {
+                    extensionPolicyHolder.refresh();
+                } catch (Exception e) {
+                    // 다음 정책 버전 확인 주기에 다시 반영됨
+                    log.error("정책 변경 후 스냅샷 갱신 실패. 버전: " + version, e);
+                }
+            }
+        });
+        return version;
+    }
+
+    // 예약 이후 검증/저장에 실패한 경우 현재 트랜잭션을 롤백으로 표시 (예외 없이 false를 반환하는 경로용)
+    // 직접 롤백으로 표시하면 커밋 시 UnexpectedRollbackException 없이 롤백됨
+    public void rollbackReservation() {
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+    }
+}
@@ -0,0 +1,25 @@
+package com.file.service;
+
+import lombok.Getter;
+
+// 이어 올리기 요청 처리 불가 (세션 상태는 바뀌지 않음)
+@Getter
+public class ResumableUploadException extends RuntimeException {
+
+    public enum Reason {
+        NOT_FOUND,       // 없거나 만료된 세션
+        OFFSET_MISMATCH, // Upload-Offset이 받은 위치와 다름
+        BUSY,            // 같은 세션에 다른 요청이 쓰는 중
+        INVALID,         // 잘못된 요청 (파일명/크기, 선언한 크기 초과)
+        TOO_MANY         // 열린 세션 수 초과
+    }
+
+    private final Reason reason;
+    private final long offset; // 현재 받은 위치 (세션이 없으면 -1)
+
+    public ResumableUploadException(Reason reason, String message, long offset) {
+        super(message);
+        this.reason = reason;
+        this.offset = offset;
+    }
+}
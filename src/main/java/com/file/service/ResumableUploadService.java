@@ -0,0 +1,435 @@
+package com.file.service;
+
+import com.file.config.ResumableUploadConfig;
+import com.file.config.UploadStorageConfig;
+import com.file.dto.UploadScanReport;
+import com.file.dto.UploadSessionResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/*
+    이어 올리기(분할 업로드) 서비스
+
+    - 세션 생성 시 파일명/선언 크기로 검사 파이프라인을 실행해서, 차단이면 본문을 받기 전에 거부
+    - 조각은 Upload-Offset 위치부터 이어서 받고, 연결이 끊기면 그때까지 받은 위치부터 다시 받음
+    - 조각이 도착할 때마다 내용 해시를 이어서 계산하고 UploadChunkInspector 검사를 실행
+      (세션마다 해시 상태와 검사 상태만 메모리에 두므로 파일 크기와 관계없이 일정)
+    - 다 받으면 전체 검사 후 허용된 파일만 저장소에 넣고 업로드 이력 기록
+    - 세션은 이 인스턴스 메모리에만 있으므로 여러 인스턴스 앞에서는 세션 ID 기준 고정 라우팅 필요
+ */
+@Slf4j
+@Service
+public class ResumableUploadService {
+
+    private static final String PART_SUFFIX = ".part";
+
+    private final ResumableUploadConfig resumableUploadConfig;
+    private final UploadStorageConfig uploadStorageConfig;
+    private final UploadScanPipeline uploadScanPipeline;
+    private final List<UploadChunkInspector> chunkInspectors;
+    private final FileStorageService fileStorageService;
+    private final FileUploadService fileUploadService;
+
+    private final Path location;
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    public ResumableUploadService(ResumableUploadConfig resumableUploadConfig,
+                                  UploadStorageConfig uploadStorageConfig,
+                                  UploadScanPipeline uploadScanPipeline,
+                                  List<UploadChunkInspector> chunkInspectors,
+                                  FileStorageService fileStorageService,
+                                  FileUploadService fileUploadService) {
+        this.resumableUploadConfig = resumableUploadConfig;
+        this.uploadStorageConfig = uploadStorageConfig;
+        this.uploadScanPipeline = uploadScanPipeline;
+        this.chunkInspectors = chunkInspectors;
+        this.fileStorageService = fileStorageService;
+        this.fileUploadService = fileUploadService;
+        this.location = Path.of(resumableUploadConfig.getLocation()).toAbsolutePath();
+    }
+
+    /**
+     * 받던 파일 디렉터리 준비 및 만료 세션 정리 시작
+     *
+     * 세션은 메모리에만 있으므로 재시작 전에 받던 파일은 이어 받을 수 없어 지웁니다.
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            Files.createDirectories(location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이어 올리기 디렉터리 생성 실패: " + location, e);
+        }
+        try (Stream<Path> leftovers = Files.list(location)) {
+            leftovers.filter(file -> file.getFileName().toString().endsWith(PART_SUFFIX))
+                    .forEach(ResumableUploadService::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("이전 이어 올리기 파일 정리 실패: {}", e.getMessage());
+        }
+
+        long interval = resumableUploadConfig.getSweepIntervalMs();
+        if (interval > 0) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("upload-session-sweep-");
+            threadFactory.setDaemon(true);
+            sweeper = Executors.newSingleThreadScheduledExecutor(threadFactory);
+            sweeper.scheduleWithFixedDelay(() -> {
+                try {
+                    expireIdleSessions();
+                } catch (Exception e) {
+                    log.error("이어 올리기 세션 정리 실패", e);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * 세션 생성
+     *
+     * 파일명과 선언한 크기로 검사 파이프라인을 실행합니다 (확장자 정책, 크기 제한).
+     * 차단이면 세션을 만들지 않고 이력에 차단으로 기록한 뒤 allowed=false 응답을 반환합니다.
+     */
+    public UploadSessionResponse create(String fileName, String contentType, long size) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new ResumableUploadException(ResumableUploadException.Reason.INVALID, "파일명 없음", -1L);
+        }
+        if (size <= 0 || size > resumableUploadConfig.getMaxSizeBytes()) {
+            throw new ResumableUploadException(ResumableUploadException.Reason.INVALID,
+                    "파일 크기는 1 ~ " + resumableUploadConfig.getMaxSizeBytes() + " byte", -1L);
+        }
+        if (sessions.size() >= resumableUploadConfig.getMaxSessions()) {
+            throw new ResumableUploadException(ResumableUploadException.Reason.TOO_MANY, "열린 세션 수 초과", -1L);
+        }
+
+        UploadScanContext context = new UploadScanContext(fileName, contentType, size, null, null);
+        UploadScanReport report = uploadScanPipeline.scan(context);
+        if (!report.isAllowed()) {
+            fileUploadService.recordUploadAttempt(fileName, false);
+            UploadSessionResponse response = describe(context, null, 0L);
+            response.setAllowed(false);
+            applyReport(response, report);
+            return response;
+        }
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), context,
+                location.resolve(UUID.randomUUID() + PART_SUFFIX), newMessageDigest(), openInspections(context));
+        try {
+            Files.createFile(session.path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("이어 올리기 파일 생성 실패: " + session.path, e);
+        }
+        sessions.put(session.id, session);
+        log.debug("이어 올리기 세션 생성: {} ({}, {} bytes)", session.id, fileName, size);
+
+        UploadSessionResponse response = status(session);
+        response.setScan(report.getStages());
+        return response;
+    }
+
+    // 세션 상태 (받은 위치 확인용)
+    public UploadSessionResponse status(String uploadId) {
+        return status(find(uploadId));
+    }
+
+    /**
+     * 조각 받기
+     *
+     * offset은 지금까지 받은 위치와 같아야 합니다. 본문을 읽는 도중 연결이 끊겨도
+     * 그때까지 받은 내용은 유지되고, 다음 요청은 세션 상태의 offset부터 보내면 됩니다.
+     * 조각 검사에서 차단되면 남은 본문을 읽지 않고 세션을 닫습니다.
+     * 마지막 조각이면 전체 검사와 저장까지 마친 결과를 반환합니다.
+     */
+    public UploadSessionResponse append(String uploadId, long offset, InputStream body) throws IOException {
+        UploadSession session = find(uploadId);
+        if (!session.lock.tryLock()) {
+            throw new ResumableUploadException(ResumableUploadException.Reason.BUSY,
+                    "다른 요청이 이 세션에 쓰는 중", session.offset);
+        }
+        try {
+            if (sessions.get(uploadId) != session) {
+                // 잠금을 기다리는 사이 만료/취소됨
+                throw new ResumableUploadException(ResumableUploadException.Reason.NOT_FOUND, "없는 세션", -1L);
+            }
+            if (offset != session.offset) {
+                throw new ResumableUploadException(ResumableUploadException.Reason.OFFSET_MISMATCH,
+                        "Upload-Offset 불일치 (받은 위치 " + session.offset + ")", session.offset);
+            }
+
+            String blockedBy = receive(session, body);
+            if (blockedBy != null) {
+                return block(session, blockedBy);
+            }
+            if (session.offset == session.context.getSize()) {
+                return complete(session);
+            }
+            return status(session);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    // 세션 취소 (받던 파일 삭제)
+    public boolean abort(String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.lock.tryLock()) {
+            return false;
+        }
+        try {
+            return discard(session);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * 만료 세션 정리
+     *
+     * 마지막 조각 이후 expire-after-ms가 지난 세션을 닫고 받던 파일을 지웁니다.
+     * 조각을 받는 중인 세션은 건너뜁니다.
+     *
+     * @return 정리한 세션 수
+     */
+    public int expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - resumableUploadConfig.getExpireAfterMs();
+        int expired = 0;
+        for (UploadSession session : sessions.values()) {
+            if (session.lastActivity >= cutoff || !session.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (session.lastActivity < cutoff && discard(session)) {
+                    expired++;
+                }
+            } finally {
+                session.lock.unlock();
+            }
+        }
+        if (expired > 0) {
+            log.info("만료된 이어 올리기 세션 {}개 정리", expired);
+        }
+        return expired;
+    }
+
+    public int getOpenSessions() {
+        return sessions.size();
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private UploadSession find(String uploadId) {
+        UploadSession session = uploadId == null ? null : sessions.get(uploadId);
+        if (session == null) {
+            throw new ResumableUploadException(ResumableUploadException.Reason.NOT_FOUND, "없거나 만료된 세션", -1L);
+        }
+        return session;
+    }
+
+    /**
+     * 본문을 받은 위치부터 파일에 쓰면서 해시와 조각 검사를 이어서 진행
+     *
+     * 버퍼 하나를 재사용하므로 조각 크기와 관계없이 메모리 사용량이 일정합니다.
+     *
+     * @return 차단한 검사 이름 (통과면 null)
+     */
+    private String receive(UploadSession session, InputStream body) throws IOException {
+        byte[] buffer = new byte[resumableUploadConfig.getBufferSize()];
+        long size = session.context.getSize();
+
+        try (FileChannel channel = FileChannel.open(session.path, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                if (read == 0) {
+                    continue;
+                }
+                if (read > size - session.offset) {
+                    throw new ResumableUploadException(ResumableUploadException.Reason.INVALID,
+                            "선언한 크기(" + size + " byte)보다 많은 데이터", session.offset);
+                }
+
+                long position = session.offset;
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                while (chunk.hasRemaining()) {
+                    position += channel.write(chunk, position);
+                }
+                session.digest.update(buffer, 0, read);
+                String blockedBy = inspect(session, buffer, read, session.offset);
+                session.offset += read;
+                session.lastActivity = System.currentTimeMillis();
+                if (blockedBy != null) {
+                    return blockedBy;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String inspect(UploadSession session, byte[] data, int length, long offset) {
+        for (Map.Entry<String, UploadChunkInspector.Inspection> entry : session.inspections.entrySet()) {
+            UploadScanVerdict verdict = entry.getValue().update(data, length, offset);
+            if (!verdict.isAllowed()) {
+                session.blockReason = verdict.getReason();
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    // 조각 검사 차단: 받던 파일을 지우고 이력에 차단으로 기록
+    private UploadSessionResponse block(UploadSession session, String blockedBy) {
+        discard(session);
+        fileUploadService.recordUploadAttempt(session.context.getFileName(), false);
+        log.info("이어 올리기 차단: {} ({}) - {}", session.context.getFileName(), blockedBy, session.blockReason);
+
+        UploadSessionResponse response = describe(session.context, null, session.offset);
+        response.setAllowed(false);
+        response.setBlockedBy(blockedBy);
+        response.setBlockReason(session.blockReason);
+        return response;
+    }
+
+    /**
+     * 다 받은 파일 처리
+     *
+     * 세션을 먼저 닫고, 받은 파일로 전체 검사를 실행합니다 (그 사이 바뀐 정책과 외부 검사기 포함).
+     * 허용이면 받으면서 계산한 해시로 저장소에 넣으므로 파일을 다시 읽지 않습니다.
+     * 받던 파일은 결과와 관계없이 지웁니다 (내용을 읽지 않는 단계에서 차단되면 검사 대상 close()가 지우지 않음).
+     */
+    private UploadSessionResponse complete(UploadSession session) {
+        sessions.remove(session.id);
+        String digest = HexFormat.of().formatHex(session.digest.digest());
+
+        UploadScanReport report;
+        String stored = null;
+        UploadScanContext received = new UploadScanContext(session.context.getFileName(),
+                session.context.getContentType(), session.context.getSize(), () -> session.path, null);
+        try (received) {
+            report = uploadScanPipeline.scan(received);
+            if (report.isAllowed()) {
+                stored = fileStorageService.store(session.path, digest);
+            }
+        } finally {
+            // 저장소로 옮겨졌으면 남은 파일 없음
+            deleteQuietly(session.path);
+        }
+        fileUploadService.recordUploadAttempt(session.context.getFileName(), report.isAllowed(), stored);
+
+        UploadSessionResponse response = describe(session.context, null, session.offset);
+        response.setCompleted(true);
+        response.setAllowed(report.isAllowed());
+        response.setStoredDigest(stored);
+        applyReport(response, report);
+        return response;
+    }
+
+    private boolean discard(UploadSession session) {
+        boolean removed = sessions.remove(session.id, session);
+        deleteQuietly(session.path);
+        return removed;
+    }
+
+    private Map<String, UploadChunkInspector.Inspection> openInspections(UploadScanContext context) {
+        Map<String, UploadChunkInspector.Inspection> inspections = new LinkedHashMap<>();
+        for (UploadChunkInspector inspector : chunkInspectors) {
+            UploadChunkInspector.Inspection inspection = inspector.open(context);
+            if (inspection != null) {
+                inspections.put(inspector.getName(), inspection);
+            }
+        }
+        return inspections;
+    }
+
+    private UploadSessionResponse status(UploadSession session) {
+        UploadSessionResponse response = describe(session.context, session.id, session.offset);
+        response.setExpiresAt(Instant.ofEpochMilli(session.lastActivity + resumableUploadConfig.getExpireAfterMs()));
+        return response;
+    }
+
+    private static UploadSessionResponse describe(UploadScanContext context, String uploadId, long offset) {
+        UploadSessionResponse response = new UploadSessionResponse();
+        response.setUploadId(uploadId);
+        response.setFileName(context.getFileName());
+        response.setExtension(context.getExtension());
+        response.setSize(context.getSize());
+        response.setOffset(offset);
+        return response;
+    }
+
+    private static void applyReport(UploadSessionResponse response, UploadScanReport report) {
+        response.setBlockedBy(report.getBlockedBy());
+        response.setBlockReason(report.getReason());
+        response.setScan(report.getStages());
+    }
+
+    // 저장소와 같은 알고리즘이어야 완료 후 해시를 다시 계산하지 않고 저장할 수 있음
+    private MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(uploadStorageConfig.getDigestAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("지원하지 않는 해시 알고리즘: " + uploadStorageConfig.getDigestAlgorithm(), e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("이어 올리기 파일 삭제 실패: {} - {}", file, e.getMessage());
+        }
+    }
+
+    // 세션 하나의 상태 (해시/검사 상태는 파일 크기와 관계없이 일정)
+    private static final class UploadSession {
+        private final String id;
+        private final UploadScanContext context; // 파일명/선언 크기만 (내용 없음)
+        private final Path path;
+        private final MessageDigest digest;
+        private final Map<String, UploadChunkInspector.Inspection> inspections;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile long offset;
+        private volatile long lastActivity = System.currentTimeMillis();
+        private String blockReason;
+
+        private UploadSession(String id, UploadScanContext context, Path path, MessageDigest digest,
+                              Map<String, UploadChunkInspector.Inspection> inspections) {
+            this.id = id;
+            this.context = context;
+            this.path = path;
+            this.digest = digest;
+            this.inspections = inspections;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.file.service;
+
+/*
+    이어 올리기(분할 업로드) 내용 검사 SPI
+
+    - 빈으로 등록하면 세션이 만들어질 때 open()으로 검사 상태를 만들고,
+      조각이 도착할 때마다 파일 순서대로 update()를 호출
+    - 검사 상태의 크기는 파일 크기와 관계없이 일정해야 함 (세션당 메모리 고정)
+    - 차단 판정이 나오면 남은 조각을 받지 않고 세션을 닫음
+    - 업로드가 끝나면 UploadScanPipeline 전체 검사가 한 번 더 실행됨 (외부 검사기 등 파일 전체가 필요한 단계)
+ */
+public interface UploadChunkInspector {
+
+    // 검사 이름 (차단 응답의 blockedBy)
+    String getName();
+
+    // 이 업로드를 조각 단위로 검사하지 않으면 null
+    Inspection open(UploadScanContext context);
+
+    interface Inspection {
+
+        // data[0, length)는 파일의 offset 위치부터의 내용
+        UploadScanVerdict update(byte[] data, int length, long offset);
+    }
+}
@@ -0,0 +1,495 @@
+package com.file.service;
+
+import com.file.config.UploadEventConfig;
+import com.file.dto.UploadHistoryResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 업로드 판정 실시간 피드(SSE) 서비스
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadEventService {
+
+    public static final String EVENT_UPLOAD = "upload";
+    public static final String EVENT_RESET = "reset";
+
+    // 대기열에 넣는 특수 표식 (id로 구분하지 않고 참조로 비교)
+    private static final Event HEARTBEAT = new Event(0L, null);
+    private static final Event RESET = new Event(-1L, null);
+
+    private final UploadEventConfig uploadEventConfig;
+
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    // 최근 이벤트 링 버퍼 (ring, lastEventId, 구독자 목록 변경은 ringLock으로 보호)
+    private final Object ringLock = new Object();
+    private Event[] ring;
+    private long lastEventId = 0L;
+
+    // 기동마다 달라지는 SSE id 접두사. 이벤트 번호는 기동마다 1부터 다시 시작하므로
+    // 재시작 전에 받은 Last-Event-ID를 이번 기동의 번호로 잘못 해석하지 않게 함 (id = "<epoch>-<번호>")
+    private final long epoch = System.currentTimeMillis();
+
+    // 구독자 목록은 변경할 때마다 새 배열로 교체 (발행 시 참조만 복사해서 잠금 밖에서 순회)
+    private volatile Subscriber[] subscribers = new Subscriber[0];
+
+    private ThreadPoolExecutor dispatcher;
+    private ExecutorService fanout;
+    private ScheduledExecutorService heartbeat;
+
+    // 전송이 멈춘 구독자 수만큼 전송 스레드를 보충하되 max-stalled-senders까지만 (dispatcherLock으로 보호)
+    private final Object dispatcherLock = new Object();
+    private int stalledSenders = 0;
+
+    /**
+     * 링 버퍼와 전송 스레드 준비
+     *
+     * 구독자 수와 상관없이 고정된 수의 전송 스레드가 구독자별 대기열을 비워줍니다.
+     * SseEmitter는 비동기 요청이라 연결 하나가 Tomcat 스레드를 붙잡지 않습니다.
+     * 전송 하나가 send-timeout-ms를 넘게 멈추면 감시 작업이 그 구독자를 목록에서 떼어내고 전송 스레드를 깨웁니다.
+     * 멈춘 쓰기는 인터럽트로 풀리지 않을 수 있으므로(서버 쓰기 제한 시간까지 대기) 그동안 전송 스레드를 보충하지만,
+     * 보충은 max-stalled-senders개까지만 합니다. 멈춘 브라우저가 많아도 스레드 수는 늘지 않습니다.
+     */
+    @PostConstruct
+    public void start() {
+        ring = new Event[Math.max(1, uploadEventConfig.getReplaySize())];
+        int threads = Math.max(1, uploadEventConfig.getDispatchThreads());
+        dispatcher = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory("upload-event-dispatch-"));
+        fanout = Executors.newSingleThreadExecutor(daemonThreadFactory("upload-event-fanout-"));
+        heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("upload-event-heartbeat-"));
+
+        long interval = uploadEventConfig.getHeartbeatIntervalMs();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        long checkInterval = Math.max(100L, uploadEventConfig.getSendTimeoutMs() / 2);
+        heartbeat.scheduleAtFixedRate(this::evictStalledSubscribers, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        fanout.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * 업로드 판정 이벤트 발행
+     *
+     * 링 버퍼에 기록하고 그 시점의 구독자 목록을 넘겨 바로 반환합니다.
+     * 구독자 대기열에 넣는 일은 단일 fanout 스레드가 발행 순서대로 처리하고,
+     * 실제 전송은 전송 스레드가 담당하므로 업로드 요청은 구독자 수나 느린 브라우저를 기다리지 않습니다.
+     */
+    public void publish(UploadHistoryResponse data) {
+        synchronized (ringLock) {
+            Event event = new Event(++lastEventId, data);
+            ring[slot(event.id)] = event;
+            // 잠금 안에서 목록을 고정해야 구독 시 재전송한 이벤트를 다시 받지 않음
+            Subscriber[] targets = subscribers;
+            if (targets.length == 0) {
+                return;
+            }
+            try {
+                fanout.execute(() -> deliver(event, targets));
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+            }
+        }
+    }
+
+    /**
+     * 피드 구독
+     *
+     * Last-Event-ID가 있으면 링 버퍼에 남아있는 이후 이벤트를 먼저 재전송합니다.
+     * 재전송 범위를 벗어났거나 다른 기동(epoch)에서 받은 id라면
+     * reset 이벤트를 보내 클라이언트가 목록을 다시 조회하게 합니다.
+     * 최대 구독자 수를 넘으면 null을 반환합니다.
+     */
+    public SseEmitter subscribe(String lastSeenEventId) {
+        if (subscribers.length >= uploadEventConfig.getMaxSubscribers()) {
+            log.warn("업로드 피드 구독자 수 초과. 최대: {}", uploadEventConfig.getMaxSubscribers());
+            return null;
+        }
+
+        SseEmitter emitter = newEmitter(uploadEventConfig.getEmitterTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, Math.max(2, uploadEventConfig.getSubscriberQueueSize()));
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.detach());
+
+        synchronized (ringLock) {
+            if (lastSeenEventId != null && !lastSeenEventId.isBlank()) {
+                Long lastSeen = parseSequence(lastSeenEventId);
+                if (lastSeen == null) {
+                    // 재시작 전(또는 형식이 다른) id: 번호를 비교할 수 없으므로 목록을 새로 받게 함
+                    subscriber.enqueue(RESET);
+                } else {
+                    replay(subscriber, lastSeen);
+                }
+            }
+            Subscriber[] current = subscribers;
+            Subscriber[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = subscriber;
+            subscribers = next;
+        }
+        return emitter;
+    }
+
+    // 현재 구독자 수
+    public int getSubscriberCount() {
+        return subscribers.length;
+    }
+
+    // 대기열 초과/전송 지연으로 끊어낸 구독자 누적 수
+    public long getDroppedSubscriberCount() {
+        return droppedSubscribers.get();
+    }
+
+    // 전송이 멈춰 보충한 전송 스레드 수 (max-stalled-senders 이하)
+    public int getStalledSenderCount() {
+        synchronized (dispatcherLock) {
+            return stalledSenders;
+        }
+    }
+
+    // 이번 기동의 SSE id 접두사
+    long getEpoch() {
+        return epoch;
+    }
+
+    // 테스트에서 전송을 기록/지연시키기 위해 재정의
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    // "<epoch>-<번호>"에서 이번 기동의 번호만 꺼냄 (다른 기동이거나 형식이 다르면 null)
+    private Long parseSequence(String eventId) {
+        int dash = eventId.indexOf('-');
+        if (dash <= 0 || !eventId.substring(0, dash).equals(Long.toString(epoch))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ringLock을 잡은 상태에서만 호출
+    private void replay(Subscriber subscriber, long lastSeenEventId) {
+        long newest = lastEventId;
+        if (lastSeenEventId >= newest) {
+            // 같은 기동에서 아직 발행하지 않은 번호 (잘못된 id) → 목록을 새로 받게 함
+            if (lastSeenEventId > newest) {
+                subscriber.enqueue(RESET);
+            }
+            return;
+        }
+
+        long oldestRetained = Math.max(1L, newest - ring.length + 1);
+        // 재전송도 구독자 대기열 크기 안에서만 (reset 표식 자리 하나 남김)
+        long oldestQueueable = newest - (subscriber.capacity - 2);
+        long from = lastSeenEventId + 1;
+        long start = Math.max(from, Math.max(oldestRetained, oldestQueueable));
+
+        if (start > from) {
+            subscriber.enqueue(RESET);
+        }
+        for (long id = start; id <= newest; id++) {
+            subscriber.enqueue(ring[slot(id)]);
+        }
+    }
+
+    private void deliver(Event event, Subscriber[] targets) {
+        for (Subscriber subscriber : targets) {
+            subscriber.enqueue(event);
+        }
+    }
+
+    private void sendHeartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.enqueue(HEARTBEAT);
+            }
+        }
+    }
+
+    private void evictStalledSubscribers() {
+        long now = System.nanoTime();
+        long limit = TimeUnit.MILLISECONDS.toNanos(uploadEventConfig.getSendTimeoutMs());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.evictIfStalled(now, limit);
+        }
+    }
+
+    private void removeSubscriber(Subscriber subscriber) {
+        synchronized (ringLock) {
+            Subscriber[] current = subscribers;
+            int index = Arrays.asList(current).indexOf(subscriber);
+            if (index < 0) {
+                return;
+            }
+            Subscriber[] next = new Subscriber[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            subscribers = next;
+        }
+    }
+
+    /**
+     * 멈춘 전송 스레드 수만큼 풀 크기 조정 (늘릴 때는 최대치부터, 줄일 때는 기본 크기부터)
+     *
+     * @return 늘리는 경우 보충했으면 true (이미 max-stalled-senders개면 false)
+     */
+    private boolean resizeDispatcher(int delta) {
+        synchronized (dispatcherLock) {
+            if (delta > 0 && stalledSenders >= Math.max(0, uploadEventConfig.getMaxStalledSenders())) {
+                return false;
+            }
+            stalledSenders += delta;
+            int size = Math.max(1, uploadEventConfig.getDispatchThreads()) + stalledSenders;
+            if (delta > 0) {
+                dispatcher.setMaximumPoolSize(size);
+                dispatcher.setCorePoolSize(size);
+            } else {
+                dispatcher.setCorePoolSize(size);
+                dispatcher.setMaximumPoolSize(size);
+            }
+            return true;
+        }
+    }
+
+    private int slot(long eventId) {
+        return (int) (eventId % ring.length);
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+        factory.setDaemon(true);
+        return factory;
+    }
+
+    private static final class Event {
+        private final long id;
+        private final UploadHistoryResponse data;
+
+        private Event(long id, UploadHistoryResponse data) {
+            this.id = id;
+            this.data = data;
+        }
+    }
+
+    /**
+     * 구독자 한 명의 전송 상태
+     *
+     * 대기열은 크기가 고정되어 있고, 가득 차면 해당 구독자만 연결을 끊습니다.
+     * 멈춘 브라우저 하나가 메모리나 다른 구독자의 전송을 붙잡지 못하게 하기 위함입니다.
+     * 동시에 한 스레드만 대기열을 비우도록 scheduled 플래그로 직렬화합니다.
+     *
+     * 전송 중인 스레드(sender)와 closed는 이 객체의 모니터로 보호합니다.
+     * 전송 중에 다른 스레드가 연결을 끊으면 emitter 종료는 전송 스레드가 전송을 마친 뒤 처리합니다
+     * (SseEmitter는 전송과 종료가 같은 잠금을 쓰므로 다른 스레드에서 종료하면 멈춘 전송을 같이 기다리게 됨).
+     */
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private final int capacity;
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+        private volatile boolean closed = false;
+
+        private Thread sender;
+        private long sendStartedAt;
+        private boolean stalled;      // 감시 작업이 떼어낸 멈춘 전송
+        private boolean compensated;  // 멈춘 전송 대신 전송 스레드를 보충했음
+
+        private Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.capacity = capacity;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void enqueue(Event event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                droppedSubscribers.incrementAndGet();
+                log.debug("느린 업로드 피드 구독자 연결 종료. 대기열 크기: {}", capacity);
+                close();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중
+                    scheduled.set(false);
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                Event event;
+                while (!closed && (event = queue.poll()) != null) {
+                    if (!beginSend()) {
+                        break;
+                    }
+                    try {
+                        send(event);
+                    } finally {
+                        endSend();
+                    }
+                    if (closed) {
+                        // 전송 중에 끊긴 연결 (멈춰서 떼어낸 연결은 오류로 종료)
+                        finish();
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("업로드 피드 전송 실패. 구독 해제: {}", e.getMessage());
+                synchronized (this) {
+                    closed = true;
+                }
+                detach();
+                finish();
+            } finally {
+                scheduled.set(false);
+                if (!closed && !queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void send(Event event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (event == RESET) {
+                emitter.send(SseEmitter.event().name(EVENT_RESET).data(""));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(epoch + "-" + event.id)
+                        .name(EVENT_UPLOAD)
+                        .data(event.data, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        // 전송 시작 표시. 이미 끊긴 연결이면 false
+        private synchronized boolean beginSend() {
+            if (closed) {
+                return false;
+            }
+            sender = Thread.currentThread();
+            sendStartedAt = System.nanoTime();
+            return true;
+        }
+
+        private synchronized void endSend() {
+            sender = null;
+            if (compensated) {
+                compensated = false;
+                resizeDispatcher(-1);
+            }
+            // 감시 작업이 건 인터럽트가 다음 구독자 전송에 남지 않게 지움
+            Thread.interrupted();
+        }
+
+        /**
+         * 감시 작업: 전송이 제한 시간을 넘게 멈췄으면 구독자 목록에서 떼어내고 전송 스레드를 깨움
+         *
+         * emitter 종료(completeWithError)는 전송과 같은 잠금을 쓰므로 감시 스레드에서 부르면 함께 멈춥니다.
+         * 그래서 종료는 쓰기가 풀린 뒤 전송 스레드가 하고, 그동안만 전송 스레드를 보충합니다 (최대 max-stalled-senders개).
+         */
+        void evictIfStalled(long now, long limitNanos) {
+            synchronized (this) {
+                if (sender == null || stalled || now - sendStartedAt < limitNanos) {
+                    return;
+                }
+                stalled = true;
+                closed = true;
+                compensated = resizeDispatcher(1);
+                sender.interrupt();
+            }
+            droppedSubscribers.incrementAndGet();
+            log.debug("전송이 멈춘 업로드 피드 구독자 연결 종료. 제한 시간: {}ms", uploadEventConfig.getSendTimeoutMs());
+            detach();
+        }
+
+        // 연결이 이미 끝난 경우 (완료/오류 콜백)
+        void detach() {
+            closed = true;
+            removeSubscriber(this);
+            queue.clear();
+        }
+
+        // 서버 쪽에서 연결을 끊는 경우
+        void close() {
+            boolean sending;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                sending = sender != null;
+            }
+            detach();
+            if (!sending) {
+                complete();
+            }
+        }
+
+        private void finish() {
+            if (stalled) {
+                completeWithError(new IOException("업로드 피드 전송 제한 시간 초과"));
+            } else {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // 이미 끊긴 연결
+            }
+        }
+
+        private void completeWithError(Exception cause) {
+            try {
+                emitter.completeWithError(cause);
+            } catch (Exception ignored) {
+                // 이미 끊긴 연결
+            }
+        }
+    }
+}
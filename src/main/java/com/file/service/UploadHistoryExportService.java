@@ -0,0 +1,213 @@
+package com.file.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.file.config.UploadExportConfig;
+import com.file.dto.UploadHistoryExportFormat;
+import com.file.dto.UploadHistoryExportRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    업로드 이력 스트리밍 내보내기 서비스
+
+    - 엔티티/영속성 컨텍스트를 거치지 않고 JDBC 커서(forward-only, read-only)로 한 행씩 읽음
+    - 읽은 행은 바로 응답 스트림에 쓰므로 메모리 사용량은 행 수와 관계없이 버퍼 크기 정도로 일정
+    - 읽기 전용 트랜잭션에서 실행 (복제본 라우팅을 켜면 복제본에서 읽음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadHistoryExportService {
+
+    private static final String SELECT =
+            "SELECT id, filename, extension, allowed, upload_time, blob_digest FROM upload_history";
+    private static final String CSV_HEADER = "id,filename,extension,allowed,upload_time,blob_digest";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final UploadExportConfig uploadExportConfig;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 기간(from 이상, to 미만)과 판정 결과로 걸러서 업로드 시각 순으로 내보내기
+     *
+     * @param allowed null이면 전체, true면 허용만, false면 차단만
+     * @return 내보낸 행 수
+     */
+    public long export(LocalDateTime from,
+                       LocalDateTime to,
+                       Boolean allowed,
+                       UploadHistoryExportFormat format,
+                       OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE upload_time >= ? AND upload_time < ?");
+        List<Object> args = new ArrayList<>(List.of(from, to));
+        if (allowed != null) {
+            sql.append(" AND allowed = ?");
+            args.add(allowed);
+        }
+        sql.append(" ORDER BY upload_time, id");
+
+        RowWriter writer = format == UploadHistoryExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        long started = System.nanoTime();
+        long[] count = {0L};
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        try {
+            tx.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(streamingFetchSize(connection, uploadExportConfig.getFetchSize()));
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(toRow(rs));
+                } catch (IOException e) {
+                    // 클라이언트 연결 종료 등. 커서를 닫고 중단
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            }));
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            log.info("업로드 이력 내보내기 중단: {}행 후 {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        log.info("업로드 이력 내보내기: {} ~ {}, allowed={}, {} {}행 ({}ms)",
+                from, to, allowed, format, count[0], (System.nanoTime() - started) / 1_000_000L);
+        return count[0];
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    // MySQL Connector/J는 useCursorFetch=true가 아니면 fetch size를 무시하고 전체를 메모리에 올리므로 행 단위 스트리밍으로 전환
+    // (정책 영향 시뮬레이션의 집계 조회에도 사용)
+    static int streamingFetchSize(Connection connection, int fetchSize) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        if ("MySQL".equalsIgnoreCase(metaData.getDatabaseProductName())
+                && (metaData.getURL() == null || !metaData.getURL().contains("useCursorFetch=true"))) {
+            return Integer.MIN_VALUE;
+        }
+        return fetchSize;
+    }
+
+    private static UploadHistoryExportRow toRow(ResultSet rs) throws SQLException {
+        return new UploadHistoryExportRow(
+                rs.getLong("id"),
+                rs.getString("filename"),
+                rs.getString("extension"),
+                rs.getBoolean("allowed"),
+                rs.getObject("upload_time", LocalDateTime.class),
+                rs.getString("blob_digest"));
+    }
+
+    private interface RowWriter {
+        void write(UploadHistoryExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), uploadExportConfig.getBufferSize());
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(UploadHistoryExportRow row) throws IOException {
+            writer.write(Long.toString(row.getId()));
+            writer.write(',');
+            writer.write(csv(row.getFileName()));
+            writer.write(',');
+            writer.write(csv(row.getExtension()));
+            writer.write(',');
+            writer.write(Boolean.toString(row.isAllowed()));
+            writer.write(',');
+            writer.write(row.getUploadTime() == null ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getUploadTime()));
+            writer.write(',');
+            writer.write(csv(row.getBlobDigest()));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        /*
+            RFC 4180 따옴표 처리 + 스프레드시트 수식 주입 방지
+            파일명은 업로드한 사람이 정하므로 =, +, -, @ 로 시작하면 앞에 '를 붙여 수식으로 실행되지 않게 함
+         */
+        private String csv(String value) {
+            if (value == null || value.isEmpty()) {
+                return "";
+            }
+            String safe = "=+-@\t\r".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+            if (safe.indexOf(',') < 0 && safe.indexOf('"') < 0 && safe.indexOf('\n') < 0 && safe.indexOf('\r') < 0) {
+                return safe;
+            }
+            return '"' + safe.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            // 응답 스트림은 컨테이너가 닫으므로 여기서 닫지 않음
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(UploadHistoryExportRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.getId());
+            generator.writeStringField("fileName", row.getFileName());
+            generator.writeStringField("extension", row.getExtension());
+            generator.writeBooleanField("allowed", row.isAllowed());
+            generator.writeStringField("uploadTime",
+                    row.getUploadTime() == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(row.getUploadTime()));
+            generator.writeStringField("blobDigest", row.getBlobDigest());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+}
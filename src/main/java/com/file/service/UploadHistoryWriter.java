@@ -0,0 +1,128 @@
+package com.file.service;
+
+import com.file.config.UploadHistoryConfig;
+import com.file.entity.UploadHistory;
+import com.file.repository.UploadHistoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    업로드 이력 비동기 저장 서비스
+
+    - 업로드 요청은 대기열에 넣기만 하고 바로 반환 (DB가 멈춰도 업로드 응답이 기다리지 않음)
+    - 백그라운드 스레드 하나가 대기열을 batch-size씩 모아 한 트랜잭션으로 저장
+    - 저장된 파일의 참조 수도 같은 트랜잭션에서 올림 (이력과 참조가 함께 저장되거나 함께 버려짐)
+    - 이력은 참고용 기록이므로 대기열이 가득 차거나 저장에 실패하면 버리고 개수만 기록 (best-effort)
+      버려진 이력의 파일은 참조가 없으므로 저장소 GC가 유예 기간 뒤에 정리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadHistoryWriter {
+
+    private final UploadHistoryRepository uploadHistoryRepository;
+    private final UploadHistoryConfig uploadHistoryConfig;
+    private final FileStorageService fileStorageService;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private BlockingQueue<UploadHistory> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, uploadHistoryConfig.getQueueSize()));
+        running = true;
+        writer = new CustomizableThreadFactory("upload-history-writer-").newThread(this::writeLoop);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // 종료 시 남은 이력을 잠시 기다려 저장
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+    }
+
+    /**
+     * 이력 저장 요청 (대기하지 않음)
+     *
+     * @return 대기열에 넣었으면 true, 가득 차서 버렸으면 false
+     */
+    public boolean submit(UploadHistory history) {
+        if (queue.offer(history)) {
+            return true;
+        }
+        // 장애 중 로그가 넘치지 않도록 1000건마다 한 번만 기록
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("업로드 이력 대기열 가득 참. 이력 버림 (누적 {}건): {}", dropped.get(), history.getFileName());
+        }
+        return false;
+    }
+
+    // 대기열 초과/저장 실패로 버린 이력 누적 수
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    // 저장 대기 중인 이력 수
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, uploadHistoryConfig.getBatchSize());
+        List<UploadHistory> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                UploadHistory first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<UploadHistory> batch) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                for (UploadHistory history : batch) {
+                    if (history.getBlobDigest() != null && !fileStorageService.addReference(history.getBlobDigest())) {
+                        history.setBlobDigest(null);
+                    }
+                }
+                uploadHistoryRepository.saveAll(batch);
+            });
+            log.debug("업로드 시도 이력 {}건 기록", batch.size());
+        } catch (Exception e) {
+            dropped.addAndGet(batch.size());
+            log.error("업로드 이력 기록 실패. {}건 버림 (첫 항목: {})", batch.size(), batch.get(0).getFileName(), e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.file.service;
+
+import com.file.dto.DecisionTrace;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/*
+    업로드 검사 대상 (검사 단계들이 공유)
+
+    - 파일 내용은 내용이 필요한 단계가 처음 요청할 때 한 번만 디스크(staging)에 둠
+      확장자만으로 차단되는 업로드는 파일을 옮기지 않음
+    - 검사 후 저장하지 않은 staging 파일은 close()에서 삭제
+ */
+@Slf4j
+@Getter
+public class UploadScanContext implements AutoCloseable {
+
+    // PE 헤더 위치(e_lfanew)는 보통 0x80~0x200이므로 넉넉히 읽음
+    static final int HEAD_SIZE = 1024;
+
+    // 파일 내용을 디스크에 두는 방법
+    @FunctionalInterface
+    public interface ContentSource {
+        Path stage() throws IOException;
+    }
+
+    private final String fileName;
+    private final String extension;
+    private final String contentType; // 클라이언트가 보낸 Content-Type (신뢰하지 않음)
+    private final long size;          // 모르면 -1
+    private final DecisionTrace trace;
+
+    @Getter(AccessLevel.NONE)
+    private final ContentSource contentSource;
+    @Getter(AccessLevel.NONE)
+    private Path stagedPath;
+    @Getter(AccessLevel.NONE)
+    private byte[] head;
+
+    public UploadScanContext(String fileName, String contentType, long size, ContentSource contentSource, DecisionTrace trace) {
+        this.fileName = fileName;
+        this.extension = FileUploadService.extractFileExtension(fileName);
+        this.contentType = contentType;
+        this.size = size;
+        this.contentSource = contentSource;
+        this.trace = trace;
+    }
+
+    // 파일명만 있는 검사 (내용이 필요한 단계는 건너뜀)
+    public static UploadScanContext ofName(String fileName, DecisionTrace trace) {
+        return new UploadScanContext(fileName, null, -1L, null, trace);
+    }
+
+    public static UploadScanContext ofMultipart(MultipartFile file, FileStorageService fileStorageService, DecisionTrace trace) {
+        return new UploadScanContext(file.getOriginalFilename(), file.getContentType(), file.getSize(),
+                () -> fileStorageService.stage(file), trace);
+    }
+
+    public boolean hasContent() {
+        return contentSource != null;
+    }
+
+    // 파일 내용 경로. 처음 호출할 때 staging에 둠
+    public synchronized Path getContentPath() throws IOException {
+        if (contentSource == null) {
+            throw new IllegalStateException("파일 내용 없는 검사: " + fileName);
+        }
+        if (stagedPath == null) {
+            stagedPath = contentSource.stage();
+        }
+        return stagedPath;
+    }
+
+    // 파일 앞부분 (최대 HEAD_SIZE byte, 매직 넘버 확인용)
+    public synchronized byte[] getHead() throws IOException {
+        if (head == null) {
+            try (InputStream in = Files.newInputStream(getContentPath())) {
+                head = in.readNBytes(HEAD_SIZE);
+            }
+        }
+        return Arrays.copyOf(head, head.length);
+    }
+
+    // 검사 중 staging에 둔 파일 (없으면 null). 저장하면 옮겨지므로 close()에서 지울 것이 없음
+    public synchronized Path getStagedPath() {
+        return stagedPath;
+    }
+
+    // 삭제에 실패해도 요청은 계속 (남은 staging 파일은 저장소 GC가 유예 기간 뒤에 정리)
+    @Override
+    public synchronized void close() {
+        if (stagedPath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(stagedPath);
+        } catch (IOException e) {
+            log.warn("검사용 임시 파일 삭제 실패: {} - {}", stagedPath, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.file.service;
+
+import com.file.config.UploadScanConfig;
+import com.file.dto.DecisionTrace;
+import com.file.dto.RuleSource;
+import com.file.dto.ScanStageResult;
+import com.file.dto.UploadScanReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+    업로드 검사 파이프라인
+
+    - 등록된 UploadScanner 빈을 비용 오름차순으로 실행하고, 첫 차단에서 멈춤
+    - 연속된 동시 실행 단계는 전용 스레드 풀에서 함께 실행하고 단계별 제한 시간을 적용
+      그중 하나가 차단하면 나머지는 취소
+    - 단계별 결과와 소요 시간을 보고하고, upload.scan.stage 타이머로 기록 (순서 조정용)
+ */
+@Slf4j
+@Service
+public class UploadScanPipeline {
+
+    private final List<UploadScanner> scanners;
+    private final UploadScanConfig uploadScanConfig;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+
+    public UploadScanPipeline(List<UploadScanner> scanners,
+                              UploadScanConfig uploadScanConfig,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.scanners = scanners.stream()
+                .sorted(Comparator.comparingInt(UploadScanner::getCost).thenComparing(UploadScanner::getName))
+                .toList();
+        this.uploadScanConfig = uploadScanConfig;
+        this.meterRegistry = meterRegistry.getIfAvailable();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("upload-scan-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(uploadScanConfig.getThreads(), threadFactory);
+
+        log.info("업로드 검사 단계: {}", this.scanners.stream()
+                .map(s -> s.getName() + "(" + s.getCost() + (s.isConcurrent() ? ", 동시" : "") + ")")
+                .toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 실행 순서대로 정렬된 검사 단계
+    public List<UploadScanner> getScanners() {
+        return scanners;
+    }
+
+    /**
+     * 업로드 검사
+     *
+     * 차단한 단계 이후의 단계는 SKIPPED로 보고합니다.
+     * 추적 중인 요청이면 단계별 소요 시간(scan.{단계})과 최종 판정을 추적 정보에 기록합니다.
+     */
+    public UploadScanReport scan(UploadScanContext context) {
+        ScanStageResult[] results = new ScanStageResult[scanners.size()];
+        ScanStageResult blocking = null;
+
+        int index = 0;
+        while (index < scanners.size()) {
+            UploadScanner scanner = scanners.get(index);
+            if (blocking != null) {
+                results[index] = skipped(scanner, null);
+                index++;
+                continue;
+            }
+            if (!scanner.isConcurrent()) {
+                results[index] = run(scanner, context);
+                blocking = isBlocking(results[index]) ? results[index] : null;
+                index++;
+                continue;
+            }
+
+            int end = index;
+            while (end < scanners.size() && scanners.get(end).isConcurrent()) {
+                end++;
+            }
+            runConcurrently(index, end, context, results);
+            for (int i = index; i < end && blocking == null; i++) {
+                if (isBlocking(results[i])) {
+                    blocking = results[i];
+                }
+            }
+            index = end;
+        }
+
+        List<ScanStageResult> stages = Arrays.asList(results);
+        UploadScanReport report = blocking == null
+                ? new UploadScanReport(true, null, null, stages)
+                : new UploadScanReport(false, blocking.getStage(), blocking.getReason(), stages);
+        recordTrace(context.getTrace(), report);
+        return report;
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private ScanStageResult run(UploadScanner scanner, UploadScanContext context) {
+        if (!scanner.supports(context)) {
+            return new ScanStageResult(scanner.getName(), scanner.getCost(), ScanStageResult.Status.NOT_APPLICABLE, null, 0L);
+        }
+        long started = System.nanoTime();
+        ScanStageResult result;
+        try {
+            UploadScanVerdict verdict = scanner.scan(context);
+            result = new ScanStageResult(scanner.getName(), scanner.getCost(),
+                    verdict.isAllowed() ? ScanStageResult.Status.ALLOWED : ScanStageResult.Status.BLOCKED,
+                    verdict.getReason(), System.nanoTime() - started);
+        } catch (InterruptedException e) {
+            // 다른 단계의 차단 또는 제한 시간 초과로 취소됨
+            Thread.currentThread().interrupt();
+            return skipped(scanner, "취소됨");
+        } catch (Exception e) {
+            log.warn("업로드 검사 단계 오류: {} - {}", scanner.getName(), e.toString());
+            result = new ScanStageResult(scanner.getName(), scanner.getCost(), ScanStageResult.Status.ERROR,
+                    e.getMessage(), System.nanoTime() - started);
+        }
+        recordTimer(result);
+        return result;
+    }
+
+    // scanners[from, to) 를 동시에 실행. 먼저 끝난 단계가 차단하면 나머지는 취소
+    private void runConcurrently(int from, int to, UploadScanContext context, ScanStageResult[] results) {
+        CompletionService<ScanStageResult> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<ScanStageResult>, Integer> pending = new HashMap<>();
+        long[] deadlines = new long[to - from];
+        long started = System.nanoTime();
+
+        for (int i = from; i < to; i++) {
+            UploadScanner scanner = scanners.get(i);
+            long timeoutMs = scanner.getTimeoutMs() > 0 ? scanner.getTimeoutMs() : uploadScanConfig.getDefaultTimeoutMs();
+            deadlines[i - from] = started + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            pending.put(completion.submit(() -> run(scanner, context)), i);
+        }
+
+        boolean cancelled = false;
+        try {
+            while (!pending.isEmpty() && !cancelled) {
+                long nextDeadline = pending.values().stream().mapToLong(i -> deadlines[i - from]).min().orElse(started);
+                Future<ScanStageResult> done = completion.poll(Math.max(0L, nextDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+                if (done != null) {
+                    int i = pending.remove(done);
+                    results[i] = result(done, scanners.get(i));
+                    cancelled = isBlocking(results[i]);
+                    continue;
+                }
+
+                // 제한 시간이 지난 단계 정리
+                long now = System.nanoTime();
+                for (Map.Entry<Future<ScanStageResult>, Integer> entry : new ArrayList<>(pending.entrySet())) {
+                    int i = entry.getValue();
+                    if (deadlines[i - from] <= now) {
+                        entry.getKey().cancel(true);
+                        pending.remove(entry.getKey());
+                        results[i] = timedOut(scanners.get(i), now - started);
+                        cancelled = cancelled || isBlocking(results[i]);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 차단으로 멈췄거나 요청 스레드가 중단된 경우 남은 단계 취소
+        pending.forEach((future, i) -> {
+            future.cancel(true);
+            results[i] = skipped(scanners.get(i), "취소됨");
+        });
+    }
+
+    private ScanStageResult result(Future<ScanStageResult> future, UploadScanner scanner) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return skipped(scanner, "취소됨");
+        } catch (ExecutionException e) {
+            return new ScanStageResult(scanner.getName(), scanner.getCost(), ScanStageResult.Status.ERROR,
+                    String.valueOf(e.getCause()), 0L);
+        }
+    }
+
+    private ScanStageResult timedOut(UploadScanner scanner, long elapsedNanos) {
+        log.warn("업로드 검사 단계 제한 시간 초과: {} ({}ms)", scanner.getName(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        ScanStageResult result = new ScanStageResult(scanner.getName(), scanner.getCost(), ScanStageResult.Status.TIMEOUT,
+                "제한 시간 초과", elapsedNanos);
+        recordTimer(result);
+        return result;
+    }
+
+    private static ScanStageResult skipped(UploadScanner scanner, String reason) {
+        return new ScanStageResult(scanner.getName(), scanner.getCost(), ScanStageResult.Status.SKIPPED, reason, 0L);
+    }
+
+    private boolean isBlocking(ScanStageResult result) {
+        switch (result.getStatus()) {
+            case BLOCKED:
+                return true;
+            case TIMEOUT:
+            case ERROR:
+                return uploadScanConfig.getFailureAction() == UploadScanConfig.FailureAction.BLOCK;
+            default:
+                return false;
+        }
+    }
+
+    private void recordTimer(ScanStageResult result) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("upload.scan.stage")
+                .description("Upload scan stage latency")
+                .tag("stage", result.getStage())
+                .tag("status", result.getStatus().name())
+                .register(meterRegistry)
+                .record(result.getElapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void recordTrace(DecisionTrace trace, UploadScanReport report) {
+        if (trace == null) {
+            return;
+        }
+        for (ScanStageResult stage : report.getStages()) {
+            if (stage.getStatus() != ScanStageResult.Status.SKIPPED
+                    && stage.getStatus() != ScanStageResult.Status.NOT_APPLICABLE) {
+                trace.getStageNanos().put("scan." + stage.getStage(), stage.getElapsedNanos());
+            }
+        }
+        // 확장자 정책 외의 단계가 차단했으면 그 단계를 매칭 규칙으로 기록
+        if (!report.isAllowed() && !ExtensionPolicyScanner.NAME.equals(report.getBlockedBy())) {
+            trace.matched(RuleSource.SCANNER, "scan:" + report.getBlockedBy());
+        }
+        trace.finish(report.isAllowed());
+    }
+}
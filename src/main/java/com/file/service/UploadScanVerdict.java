@@ -0,0 +1,24 @@
+package com.file.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 검사 단계 하나의 판정
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UploadScanVerdict {
+
+    private static final UploadScanVerdict ALLOW = new UploadScanVerdict(true, null);
+
+    private final boolean allowed;
+    private final String reason; // 차단 사유 (허용이면 null)
+
+    public static UploadScanVerdict allow() {
+        return ALLOW;
+    }
+
+    public static UploadScanVerdict block(String reason) {
+        return new UploadScanVerdict(false, reason);
+    }
+}
@@ -0,0 +1,34 @@
+package com.file.service;
+
+/*
+    업로드 검사 단계 SPI
+
+    - 빈으로 등록하면 UploadScanPipeline이 비용(getCost) 오름차순으로 실행
+    - 어느 단계든 차단 판정이 나오면 이후 단계는 실행하지 않음
+    - isConcurrent()가 true인 단계가 연속되면 함께 동시에 실행되고, 단계별 제한 시간이 적용됨
+      (서로의 결과에 의존하지 않는 느린 검사용: 외부 검사기 등)
+ */
+public interface UploadScanner {
+
+    // 단계 이름 (응답, 지표 태그에 사용)
+    String getName();
+
+    // 상대적인 실행 비용. 싼 검사가 먼저 실행되어 비싼 검사를 건너뛸 수 있게 함
+    int getCost();
+
+    default boolean isConcurrent() {
+        return false;
+    }
+
+    // 동시 실행 단계의 제한 시간 (ms). 0이면 파이프라인 기본값
+    default long getTimeoutMs() {
+        return 0L;
+    }
+
+    // 이 업로드에 적용할 단계인지 (파일 내용이 필요한 단계는 내용이 없으면 false)
+    default boolean supports(UploadScanContext context) {
+        return true;
+    }
+
+    UploadScanVerdict scan(UploadScanContext context) throws Exception;
+}
@@ -5,6 +5,7 @@
  * - 커스텀 +추가 시 POST /api/custom
  * - 칩 X 클릭 시 DELETE /api/custom/{ext}
  * - 업로드 테스트 화면: 저장된 정책으로 차단/허용 판정 + 최근 업로드 테이블 갱신
+ * - 최근 업로드 테이블은 SSE(/api/upload-history/stream)로 실시간 반영
  * ============================================================ */
 
 /* =============== 공통: 헬퍼 =============== */
@@ -172,10 +173,14 @@ async function initUploadTestPage() {
     const modalDesc   = resultModal?.querySelector(".modal__desc");
     const modalOkBtn  = document.getElementById("modalOk");
     const tbody       = document.getElementById("recentTbody") || document.querySelector(".data-table tbody");
+    const RECENT_LIMIT = 10; // 최근 업로드 표 최대 행 수 (서버 조회와 동일)
 
     // 진입 시 최근 업로드 목록 렌더
     await loadRecent();
 
+    // 이후 판정은 SSE로 받아서 표에 바로 반영 (재접속 시 Last-Event-ID는 브라우저가 자동 전송)
+    subscribeRecent();
+
     // 업로드 처리
     form?.addEventListener("submit", async (e) => {
         e.preventDefault();
@@ -214,10 +219,14 @@ async function initUploadTestPage() {
                 return;
             }
 
-            const r = json.data; // { fileName, extension, allowed }
+            const r = json.data; // { fileName, extension, allowed, blockedBy, blockReason, scan }
             if (r.allowed) {
                 modalTitle.textContent = "업로드 성공";
                 modalDesc.textContent  = `허용된 파일입니다 (.${r.extension ?? "-" }).`;
+            } else if (r.blockedBy && r.blockedBy !== "extension-policy") {
+                // 확장자 외의 검사 단계(내용 형식, 크기, 외부 검사기)에서 차단
+                modalTitle.textContent = "차단됨";
+                modalDesc.textContent  = r.blockReason ?? "업로드 검사에서 차단되었습니다.";
             } else {
                 modalTitle.textContent = "차단됨";
                 modalDesc.textContent  = `정책에 의해 금지된 확장자(.${r.extension ?? "-"})입니다.`;
@@ -248,6 +257,34 @@ async function initUploadTestPage() {
     });
 
     // ===== 내부 유틸 =====
+    function subscribeRecent() {
+        if (!window.EventSource) return;
+        const source = new EventSource("/api/upload-history/stream");
+        source.addEventListener("upload", (e) => {
+            const it = JSON.parse(e.data);
+            tbody.insertAdjacentHTML("afterbegin", renderRow(it));
+            while (tbody.rows.length > RECENT_LIMIT) tbody.deleteRow(-1);
+        });
+        // 재전송 범위를 벗어났을 때 서버가 보내는 신호 → 목록 전체 재조회
+        source.addEventListener("reset", () => loadRecent());
+    }
+
+    function renderRow(it) {
+        const badge = it.allowed
+            ? `<span class="badge badge--allow">허용</span>`
+            : `<span class="badge badge--block">차단</span>`;
+        const ext  = it.extension || "-";
+        const time = formatKST(it.uploadTime);
+        return `
+          <tr>
+            <td>${esc(it.fileName || "")}</td>
+            <td>${esc(ext)}</td>
+            <td>${badge}</td>
+            <td>${esc(time)}</td>
+          </tr>
+        `;
+    }
+
     async function loadRecent() {
         try {
             const res  = await fetch("/api/upload-history");
@@ -258,21 +295,7 @@ async function initUploadTestPage() {
                 return;
             }
 
-            const rows = (json.data || []).map(it => {
-                const badge = it.allowed
-                    ? `<span class="badge badge--allow">허용</span>`
-                    : `<span class="badge badge--block">차단</span>`;
-                const ext  = it.extension || "-";
-                const time = formatKST(it.uploadTime);
-                return `
-          <tr>
-            <td>${esc(it.fileName || "")}</td>
-            <td>${esc(ext)}</td>
-            <td>${badge}</td>
-            <td>${esc(time)}</td>
-          </tr>
-        `;
-            }).join("");
+            const rows = (json.data || []).map(renderRow).join("");
 
             tbody.innerHTML = rows || "";
         } catch (e) {
@@ -0,0 +1,100 @@
+package com.file.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// DataSource bulkhead: close 시 자리 반납, 중복 close는 한 번만 반납, 자리가 없으면 제한 시간 후 실패
+class BulkheadDataSourceTests {
+
+    private final DataSource target = mock(DataSource.class);
+
+    @Test
+    void closeReleasesPermit() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, 100L);
+
+        Connection connection = bulkhead.getConnection();
+        assertThat(bulkhead.getInUse()).isEqualTo(1);
+
+        connection.close();
+        assertThat(bulkhead.getInUse()).isZero();
+        bulkhead.getConnection().close();
+        assertThat(bulkhead.getRejected()).isZero();
+    }
+
+    @Test
+    void doubleCloseReleasesOnce() throws Exception {
+        Connection first = mock(Connection.class);
+        when(target.getConnection()).thenReturn(first).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, 100L);
+
+        Connection connection = bulkhead.getConnection();
+        connection.close();
+        connection.close();
+        verify(first, times(2)).close();
+
+        // 자리가 두 개로 늘지 않음
+        Connection held = bulkhead.getConnection();
+        assertThat(bulkhead.getInUse()).isEqualTo(1);
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        held.close();
+    }
+
+    @Test
+    void acquisitionTimesOutWhenExhausted() throws Exception {
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 2, 200L);
+        Connection a = bulkhead.getConnection();
+        Connection b = bulkhead.getConnection();
+
+        long started = System.nanoTime();
+        assertThatThrownBy(bulkhead::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("bulkhead full");
+        long waitedMs = (System.nanoTime() - started) / 1_000_000L;
+
+        assertThat(waitedMs).isBetween(150L, 5000L);
+        assertThat(bulkhead.getRejected()).isEqualTo(1L);
+        verify(target, times(2)).getConnection();
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void failedTargetConnectionReleasesPermit() throws Exception {
+        when(target.getConnection()).thenThrow(new SQLException("pool timeout")).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 1, 100L);
+
+        assertThatThrownBy(bulkhead::getConnection).hasMessage("pool timeout");
+        assertThat(bulkhead.getInUse()).isZero();
+        bulkhead.getConnection().close();
+    }
+
+    @Test
+    void proxyEqualityIsIdentityBased() throws Exception {
+        Connection shared = mock(Connection.class);
+        when(target.getConnection()).thenReturn(shared);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(target, 2, 100L);
+
+        Connection a = bulkhead.getConnection();
+        Connection b = bulkhead.getConnection();
+
+        assertThat(a).isEqualTo(a).isNotEqualTo(b).isNotEqualTo(shared);
+        assertThat(a.hashCode()).isEqualTo(System.identityHashCode(a));
+        assertThat(Set.of(a, b)).hasSize(2);
+        a.close();
+        b.close();
+    }
+}
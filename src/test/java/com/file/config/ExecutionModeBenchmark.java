@@ -0,0 +1,167 @@
+package com.file.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    높은 동시성에서 요청 처리 스레드 방식 비교 (./gradlew benchmark)
+
+    업로드 요청 하나를 "느린 multipart 수신 + JDBC 호출 3번"으로 흉내 내어 동시에 실행
+    - platform: Tomcat 기본값과 같은 200개 고정 스레드 풀
+    - virtual + bulkhead: 요청마다 가상 스레드, DataSource 앞에 세마포어 bulkhead
+    - virtual (bulkhead 없음): 모든 가상 스레드가 커넥션 풀 대기열에 바로 몰림
+
+    가상 스레드 항목은 Java 21 이상에서 실행할 때만 측정 (컴파일은 Java 17 기준이라 리플렉션으로 생성, ./gradlew benchmark는 Java 21 런처 사용)
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmark {
+
+    private static final int REQUESTS = 4000;
+    private static final int PLATFORM_THREADS = 200; // server.tomcat.threads.max 기본값
+    private static final long MULTIPART_MS = 100L;   // 클라이언트가 본문을 보내는 시간
+    private static final int DB_CALLS = 3;           // 정책 확인, 이력 기록, 저장소 참조 수
+    private static final long DB_LATENCY_MS = 1L;    // 커넥션을 잡고 있는 네트워크 왕복 시간
+    private static final int POOL_SIZE = 10;
+
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void createPool() {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setJdbcUrl("jdbc:h2:mem:execution-mode-benchmark;DB_CLOSE_DELAY=-1");
+        hikari.setMaximumPoolSize(POOL_SIZE);
+        hikari.setConnectionTimeout(30_000L);
+        pool = new HikariDataSource(hikari);
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        System.out.printf("requests=%d multipart=%dms db=%dx%dms pool=%d (Java %d)%n",
+                REQUESTS, MULTIPART_MS, DB_CALLS, DB_LATENCY_MS, POOL_SIZE, Runtime.version().feature());
+
+        Result platform = run("platform", Executors.newFixedThreadPool(PLATFORM_THREADS), pool);
+        assertThat(platform.completed()).isEqualTo(REQUESTS);
+
+        ExecutorService virtualThreads = virtualThreads();
+        if (virtualThreads == null) {
+            System.out.println("virtual    : skipped (needs Java 21+ runtime)");
+            return;
+        }
+
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, POOL_SIZE, 10_000L);
+        Result virtual = run("virtual+bh", virtualThreads, bulkhead);
+        assertThat(virtual.completed()).isEqualTo(REQUESTS);
+        assertThat(virtual.peakConnections()).isLessThanOrEqualTo(POOL_SIZE);
+        System.out.printf("bulkhead   : rejected=%d%n", bulkhead.getRejected());
+
+        Result unbounded = run("virtual", virtualThreads(), pool);
+        assertThat(unbounded.completed()).isEqualTo(REQUESTS);
+    }
+
+    // === 내부 유틸리티 메서드들 ===
+
+    private Result run(String label, ExecutorService executor, DataSource dataSource) throws Exception {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger peakPoolWaiters = new AtomicInteger();
+        LongAdder failed = new LongAdder();
+        long[] latencies = new long[REQUESTS];
+
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            futures.add(executor.submit(() -> {
+                try {
+                    handleUpload(dataSource, inFlight, peak, peakPoolWaiters);
+                } catch (SQLTransientConnectionException e) {
+                    failed.increment();
+                } catch (SQLException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                latencies[index] = System.nanoTime() - submitted;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                failed.increment();
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-11s: %7.0f req/s, p50 %5dms, p99 %5dms, peak connections %d, peak pool waiters %d, failed %d%n",
+                label,
+                REQUESTS / (elapsed / 1_000_000_000.0),
+                sorted[REQUESTS / 2] / 1_000_000L,
+                sorted[REQUESTS * 99 / 100] / 1_000_000L,
+                peak.get(),
+                peakPoolWaiters.get(),
+                failed.sum());
+        return new Result(REQUESTS - (int) failed.sum(), peak.get());
+    }
+
+    private void handleUpload(DataSource dataSource, AtomicInteger inFlight, AtomicInteger peak,
+                              AtomicInteger peakPoolWaiters) throws SQLException, InterruptedException {
+        Thread.sleep(MULTIPART_MS);
+        for (int call = 0; call < DB_CALLS; call++) {
+            peakPoolWaiters.accumulateAndGet(pool.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max);
+            try (Connection connection = dataSource.getConnection()) {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try (PreparedStatement statement = connection.prepareStatement("SELECT 1");
+                     ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    Thread.sleep(DB_LATENCY_MS);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    // Java 21 이상이면 Executors.newVirtualThreadPerTaskExecutor(), 아니면 null
+    private static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private record Result(int completed, int peakConnections) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.file.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메모리 H2 두 개를 primary/replica로 두고 라우팅 확인 (broken 복제본은 접속 불가 주소)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE TABLE IF NOT EXISTS db_role AS SELECT 'primary' AS name",
+        "file.datasource.routing.enabled=true",
+        "file.datasource.routing.read-your-writes-ms=300",
+        "file.datasource.routing.replicas[0].name=local",
+        "file.datasource.routing.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE TABLE IF NOT EXISTS db_role AS SELECT 'replica' AS name",
+        "file.datasource.routing.replicas[0].username=sa",
+        "file.datasource.routing.replicas[1].name=broken",
+        "file.datasource.routing.replicas[1].url=jdbc:h2:tcp://127.0.0.1:1/broken",
+        "file.datasource.routing.replicas[1].username=sa"
+})
+@ActiveProfiles("test")
+class ReadReplicaRoutingDataSourceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @BeforeEach
+    void waitForReadYourWritesWindow() throws InterruptedException {
+        while (readYourWritesWindow.isActive()) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToHealthyReplica() {
+        long before = routingDataSource.getAcquisitionCount("replica-local");
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(queryRole(true)).isEqualTo("replica");
+        }
+
+        assertThat(routingDataSource.getAcquisitionCount("replica-local")).isEqualTo(before + 6);
+        assertThat(routingDataSource.getAcquisitionCount("replica-broken")).isZero();
+    }
+
+    @Test
+    void writesAndNonTransactionalQueriesGoToPrimary() {
+        assertThat(queryRole(false)).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM db_role", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsStayOnPrimaryDuringReadYourWritesWindow() {
+        readYourWritesWindow.markWrite();
+
+        assertThat(queryRole(true)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyConnectionsFallBackToPrimaryWhenNoReplicaIsHealthy() throws Exception {
+        // 복제본이 모두 접속 불가인 별도 라우팅 (primary 풀은 공유)
+        DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+        config.setHealthCheckIntervalMs(60_000L);
+        try (ReadReplicaRoutingDataSource allDown = new ReadReplicaRoutingDataSource(primaryDataSource,
+                List.of(brokenReplica("down1"), brokenReplica("down2")), readYourWritesWindow, config, null)) {
+            assertThat(allDown.hasHealthyReplica()).isFalse();
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                for (int i = 0; i < 4; i++) {
+                    try (Connection connection = allDown.getConnection();
+                         Statement statement = connection.createStatement();
+                         ResultSet rs = statement.executeQuery("SELECT name FROM db_role")) {
+                        assertThat(rs.next()).isTrue();
+                        assertThat(rs.getString(1)).isEqualTo("primary");
+                    }
+                }
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+
+            assertThat(allDown.getAcquisitionCount(ReadReplicaRoutingDataSource.PRIMARY)).isEqualTo(4);
+            assertThat(allDown.getAcquisitionCount("replica-down1")).isZero();
+            assertThat(allDown.getAcquisitionCount("replica-down2")).isZero();
+        }
+    }
+
+    private static HikariDataSource brokenReplica(String name) {
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("replica-" + name);
+        hikari.setJdbcUrl("jdbc:h2:tcp://127.0.0.1:1/" + name);
+        hikari.setUsername("sa");
+        hikari.setConnectionTimeout(250L);
+        hikari.setInitializationFailTimeout(-1);
+        return new HikariDataSource(hikari);
+    }
+
+    private String queryRole(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM db_role", String.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.file.service;
+
+import com.file.config.UploadStorageConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    중복이 많은 업로드 묶음으로 저장 처리량과 디스크 사용량 비교 (./gradlew benchmark)
+
+    - 기존 방식: 업로드마다 스트림(힙 버퍼)으로 새 파일에 복사
+    - 내용 주소 저장소: transferTo로 staging 복사 → direct buffer 해시 → 해시 경로로 이름 변경(중복이면 버림)
+ */
+@Tag("benchmark")
+class ContentAddressedStoreBenchmark {
+
+    private static final Path WORK_DIR = Path.of("build", "tmp", "cas-benchmark");
+    private static final int DISTINCT_FILES = 16;
+    private static final int UPLOADS = 256;           // 업로드 16개 중 15개는 중복
+    private static final int FILE_SIZE = 1024 * 1024; // 1 MiB
+    private static final int ROUNDS = 3;
+
+    private final List<Path> uploads = new ArrayList<>();
+
+    @BeforeEach
+    void prepareCorpus() throws IOException {
+        FileSystemUtils.deleteRecursively(WORK_DIR);
+        Path corpus = Files.createDirectories(WORK_DIR.resolve("corpus"));
+
+        Random random = new Random(42);
+        List<Path> distinct = new ArrayList<>();
+        for (int i = 0; i < DISTINCT_FILES; i++) {
+            byte[] content = new byte[FILE_SIZE];
+            random.nextBytes(content);
+            distinct.add(Files.write(corpus.resolve("distinct-" + i + ".bin"), content));
+        }
+        for (int i = 0; i < UPLOADS; i++) {
+            uploads.add(distinct.get(random.nextInt(DISTINCT_FILES)));
+        }
+    }
+
+    @Test
+    void duplicateHeavyCorpus() throws IOException {
+        long logicalBytes = (long) UPLOADS * FILE_SIZE;
+
+        long naiveNanos = Long.MAX_VALUE;
+        long naiveDiskBytes = 0L;
+        long storeNanos = Long.MAX_VALUE;
+        long storeDiskBytes = 0L;
+        Set<String> digests = new HashSet<>();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            Path naiveDir = Files.createDirectories(WORK_DIR.resolve("naive-" + round));
+            long started = System.nanoTime();
+            for (Path upload : uploads) {
+                try (InputStream in = Files.newInputStream(upload);
+                     OutputStream out = Files.newOutputStream(naiveDir.resolve(UUID.randomUUID() + ".bin"))) {
+                    in.transferTo(out);
+                }
+            }
+            naiveNanos = Math.min(naiveNanos, System.nanoTime() - started);
+            naiveDiskBytes = directorySize(naiveDir);
+
+            UploadStorageConfig config = new UploadStorageConfig();
+            config.setRoot(WORK_DIR.resolve("store-" + round).toString());
+            ContentAddressedStore store = new ContentAddressedStore(config);
+            digests.clear();
+            started = System.nanoTime();
+            for (Path upload : uploads) {
+                Path staged = store.stageCopy(upload);
+                String digest = store.digest(staged);
+                store.commit(staged, digest);
+                digests.add(digest);
+            }
+            storeNanos = Math.min(storeNanos, System.nanoTime() - started);
+            storeDiskBytes = directorySize(WORK_DIR.resolve("store-" + round).resolve("blobs"));
+        }
+
+        System.out.printf("uploads=%d distinct=%d size=%dKiB (best of %d)%n", UPLOADS, DISTINCT_FILES, FILE_SIZE / 1024, ROUNDS);
+        System.out.printf("naive copy : %8.1f MiB/s, disk %6d KiB%n", throughput(logicalBytes, naiveNanos), naiveDiskBytes / 1024);
+        System.out.printf("CAS store  : %8.1f MiB/s, disk %6d KiB (saved %.1f%%)%n",
+                throughput(logicalBytes, storeNanos), storeDiskBytes / 1024,
+                100.0 * (logicalBytes - storeDiskBytes) / logicalBytes);
+
+        assertThat(digests).hasSize(DISTINCT_FILES);
+        assertThat(storeDiskBytes).isEqualTo((long) DISTINCT_FILES * FILE_SIZE);
+        assertThat(naiveDiskBytes).isEqualTo(logicalBytes);
+    }
+
+    private static double throughput(long bytes, long nanos) {
+        return (bytes / (1024.0 * 1024.0)) / (nanos / 1_000_000_000.0);
+    }
+
+    private static long directorySize(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+}
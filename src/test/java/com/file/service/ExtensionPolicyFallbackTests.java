@@ -0,0 +1,200 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.config.PolicyFallbackConfig;
+import com.file.config.PolicyRefreshConfig;
+import com.file.entity.FixedExtension;
+import com.file.repository.CustomExtensionRepository;
+import com.file.repository.FixedExtensionRepository;
+import com.file.repository.PolicyStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+// DB 장애 주입: 정책 로딩이 STALL_MS 동안 멈춘 뒤 실패하도록 만들고 판정 지연과 회로 차단기 동작 확인
+class ExtensionPolicyFallbackTests {
+
+    private static final Path SNAPSHOT = Path.of("build", "tmp", "policy-fallback-test", "policy-snapshot.json");
+    private static final long STALL_MS = 300L;
+
+    private final PolicyStateRepository policyStateRepository = mock(PolicyStateRepository.class);
+    private final FixedExtensionRepository fixedExtensionRepository = mock(FixedExtensionRepository.class);
+    private final CustomExtensionRepository customExtensionRepository = mock(CustomExtensionRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final PolicyFallbackConfig fallbackConfig = new PolicyFallbackConfig();
+
+    private PolicySnapshotStore snapshotStore;
+    private PolicyCircuitBreaker circuitBreaker;
+    private volatile boolean databaseDown;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.deleteIfExists(SNAPSHOT);
+        fallbackConfig.setSnapshotLocation(SNAPSHOT.toString());
+        fallbackConfig.setFailureThreshold(2);
+        fallbackConfig.setOpenDurationMs(60_000L);
+        snapshotStore = new PolicySnapshotStore(fallbackConfig);
+        circuitBreaker = new PolicyCircuitBreaker(fallbackConfig);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(policyStateRepository.findVersion(anyLong())).thenAnswer(invocation -> {
+            if (databaseDown) {
+                Thread.sleep(STALL_MS);
+                throw new CannotGetJdbcConnectionException("fault injected", new SQLException("connection refused"));
+            }
+            return 9L;
+        });
+        when(fixedExtensionRepository.findAll()).thenReturn(List.of(
+                new FixedExtension(1L, "exe", true, LocalDateTime.now(), LocalDateTime.now())));
+        when(customExtensionRepository.findAll()).thenReturn(List.of());
+    }
+
+    @Test
+    void verdictLatencyStaysBoundedWhileDatabaseIsDown() throws Exception {
+        snapshotStore.save(new CompiledExtensionPolicy(7L, 0L, List.of("exe", "bat"),
+                Map.of("exe", true, "bat", false), List.of("sh"), 200, 20));
+        databaseDown = true;
+
+        ExtensionPolicyHolder holder = startHolder();
+        FileUploadService uploadService = uploadService(holder);
+
+        assertThat(holder.getSource()).isEqualTo(ExtensionPolicyHolder.PolicySource.LOCAL_SNAPSHOT);
+        assertThat(holder.isDegraded()).isTrue();
+
+        // 판정과 동시에 다른 스레드가 멈춘 DB로 정책 로딩을 계속 시도
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        Future<?> reloader = executor.submit(() -> {
+            while (running.get()) {
+                holder.refresh();
+            }
+        });
+
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[2_000];
+                for (int i = 0; i < latencies.length; i++) {
+                    long started = System.nanoTime();
+                    assertThat(uploadService.isFileUploadAllowed("payload.exe")).isFalse();
+                    assertThat(uploadService.isFileUploadAllowed("script.sh")).isFalse();
+                    assertThat(uploadService.isFileUploadAllowed("batch.bat")).isTrue();
+                    latencies[i] = System.nanoTime() - started;
+                }
+                return latencies;
+            }));
+        }
+
+        List<Long> all = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            Arrays.stream(result.get(30, TimeUnit.SECONDS)).forEach(all::add);
+        }
+        running.set(false);
+        reloader.get(5, TimeUnit.SECONDS);
+        executor.shutdownNow();
+
+        all.sort(null);
+        long p99 = all.get((int) (all.size() * 0.99));
+        long max = all.get(all.size() - 1);
+        // 판정은 DB를 기다리지 않음 (DB 정지 시간보다 훨씬 짧아야 함)
+        assertThat(TimeUnit.NANOSECONDS.toMillis(p99)).isLessThan(5L);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(max)).isLessThan(STALL_MS);
+        assertThat(circuitBreaker.getState()).isEqualTo(PolicyCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void openCircuitSkipsDatabaseAfterRepeatedFailures() {
+        databaseDown = true;
+        ExtensionPolicyHolder holder = startHolder(); // 1회 실패
+        holder.refresh();                             // 2회 실패 → 회로 열림
+
+        assertThat(circuitBreaker.getState()).isEqualTo(PolicyCircuitBreaker.State.OPEN);
+        int calls = mockingDetails(policyStateRepository).getInvocations().size();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            holder.refresh();
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(STALL_MS);
+        assertThat(mockingDetails(policyStateRepository).getInvocations()).hasSize(calls);
+        assertThat(holder.getLoadFailures()).isEqualTo(2L);
+    }
+
+    @Test
+    void failModeAppliesWhenNoSnapshotExists() {
+        databaseDown = true;
+        ExtensionPolicyHolder holder = startHolder();
+        FileUploadService uploadService = uploadService(holder);
+        assertThat(holder.getSource()).isEqualTo(ExtensionPolicyHolder.PolicySource.NONE);
+
+        fallbackConfig.setFailMode(PolicyFallbackConfig.FailMode.CLOSED);
+        assertThat(uploadService.isFileUploadAllowed("report.pdf")).isFalse();
+        assertThat(uploadService.isFileUploadAllowed("README")).isFalse();
+
+        fallbackConfig.setFailMode(PolicyFallbackConfig.FailMode.OPEN);
+        assertThat(uploadService.isFileUploadAllowed("report.pdf")).isTrue();
+    }
+
+    @Test
+    void recoveredDatabaseReplacesSnapshotAndPersistsIt() throws Exception {
+        // 로컬 스냅샷 버전(50)이 DB 버전(9)보다 높아도 DB 정책으로 교체되어야 함
+        snapshotStore.save(new CompiledExtensionPolicy(50L, 0L, List.of("exe"), Map.of("exe", false), List.of("sh"), 200, 20));
+        fallbackConfig.setOpenDurationMs(50L);
+        databaseDown = true;
+        ExtensionPolicyHolder holder = startHolder();
+        holder.refresh();
+        assertThat(circuitBreaker.getState()).isEqualTo(PolicyCircuitBreaker.State.OPEN);
+
+        databaseDown = false;
+        Thread.sleep(100L);
+        CompiledExtensionPolicy recovered = holder.refresh();
+
+        assertThat(recovered.getVersion()).isEqualTo(9L);
+        assertThat(recovered.findFixedStatus("exe")).isTrue();
+        assertThat(recovered.isCustomBlocked("sh")).isFalse();
+        assertThat(holder.getSource()).isEqualTo(ExtensionPolicyHolder.PolicySource.DATABASE);
+        assertThat(holder.isDegraded()).isFalse();
+        assertThat(snapshotStore.load()).get().extracting(CompiledExtensionPolicy::getVersion).isEqualTo(9L);
+    }
+
+    private ExtensionPolicyHolder startHolder() {
+        ExtensionPolicyConfig policyConfig = new ExtensionPolicyConfig();
+        policyConfig.setFixedExtensions(List.of("exe", "bat"));
+        PolicyRefreshConfig refreshConfig = new PolicyRefreshConfig();
+        refreshConfig.setDbPollIntervalMs(0L);
+
+        ExtensionPolicyHolder holder = new ExtensionPolicyHolder(fixedExtensionRepository, customExtensionRepository,
+                policyStateRepository, policyConfig, refreshConfig, transactionManager,
+                snapshotStore, circuitBreaker, fallbackConfig);
+        holder.loadLocalSnapshot();
+        holder.afterSingletonsInstantiated();
+        return holder;
+    }
+
+    private FileUploadService uploadService(ExtensionPolicyHolder holder) {
+        return new FileUploadService(holder, null, null, null, null, fallbackConfig);
+    }
+}
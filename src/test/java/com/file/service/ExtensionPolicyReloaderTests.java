@@ -0,0 +1,131 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.config.PolicyRefreshConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "file.extension.refresh.watch-enabled=false",
+        "file.extension.refresh.watch-location=" + ExtensionPolicyReloaderTests.CONFIG_FILE
+})
+@ActiveProfiles("test")
+class ExtensionPolicyReloaderTests {
+
+    static final String CONFIG_FILE = "build/tmp/policy-reload-test/application.yaml";
+
+    @Autowired
+    private ExtensionPolicyReloader extensionPolicyReloader;
+
+    @Autowired
+    private ExtensionPolicyHolder extensionPolicyHolder;
+
+    @Autowired
+    private ExtensionPolicyConfig extensionPolicyConfig;
+
+    @Autowired
+    private FixedExtensionService fixedExtensionService;
+
+    @Autowired
+    private PolicyRefreshConfig policyRefreshConfig;
+
+    @Test
+    void reloadSeedsNewFixedExtensionsAndSwapsSnapshot() throws Exception {
+        CompiledExtensionPolicy before = extensionPolicyHolder.current();
+
+        writeConfig("""
+                file:
+                  extension:
+                    policy:
+                      fixed-extensions: [bat, cmd, com, cpl, exe, scr, js, ps1]
+                      max-custom-extensions: 150
+                """);
+
+        List<String> changes = extensionPolicyReloader.reload();
+
+        assertThat(changes).contains("+fixed:ps1", "max-custom-extensions 200->150");
+        assertThat(extensionPolicyConfig.getMaxCustomExtensions()).isEqualTo(150);
+        assertThat(fixedExtensionService.getAllFixedExtensions())
+                .anyMatch(fixed -> fixed.getExtension().equals("ps1"));
+
+        CompiledExtensionPolicy after = extensionPolicyHolder.current();
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.isConfiguredFixed("ps1")).isTrue();
+        assertThat(after.getConfigRevision()).isEqualTo(before.getConfigRevision() + 1);
+        // 교체 전에 잡아둔 스냅샷은 그대로 (진행 중인 요청은 이전 정책으로 판정)
+        assertThat(before.isConfiguredFixed("ps1")).isFalse();
+
+        // 같은 내용으로 다시 읽으면 변경 없음
+        assertThat(extensionPolicyReloader.reload()).isEmpty();
+    }
+
+    @Test
+    void invalidConfigIsRejected() throws Exception {
+        CompiledExtensionPolicy before = extensionPolicyHolder.current();
+
+        writeConfig("""
+                file:
+                  extension:
+                    policy:
+                      fixed-extensions: [exe, "bad ext!"]
+                      max-extension-length: 99
+                """);
+
+        assertThat(extensionPolicyReloader.reload()).isEmpty();
+        assertThat(extensionPolicyHolder.current()).isSameAs(before);
+    }
+
+    @Test
+    void failedSeedingKeepsRunningConfigAndRetriesSameChange() throws Exception {
+        // 첫 시도는 DB 장애로 고정 확장자 생성 실패, 두 번째는 정상
+        FixedExtensionService flakySeeder = mock(FixedExtensionService.class);
+        when(flakySeeder.seedConfiguredExtensions(anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("fault injected", new SQLException("connection refused")))
+                .thenAnswer(invocation -> fixedExtensionService.seedConfiguredExtensions(invocation.getArgument(0)));
+        ExtensionPolicyReloader reloader = new ExtensionPolicyReloader(
+                extensionPolicyConfig, policyRefreshConfig, flakySeeder, extensionPolicyHolder);
+
+        List<String> runningFixed = List.copyOf(extensionPolicyConfig.getFixedExtensions());
+        List<String> fixed = new ArrayList<>(runningFixed);
+        fixed.add("vbs");
+        writeConfig("""
+                file:
+                  extension:
+                    policy:
+                      fixed-extensions: %s
+                """.formatted(fixed));
+        CompiledExtensionPolicy before = extensionPolicyHolder.current();
+
+        assertThat(reloader.reload()).isEmpty();
+        assertThat(reloader.isRetryPending()).isTrue();
+        assertThat(extensionPolicyConfig.getFixedExtensions()).isEqualTo(runningFixed);
+        assertThat(extensionPolicyHolder.current()).isSameAs(before);
+
+        // 설정 빈이 바뀌지 않았으므로 다시 시도하면 같은 변경으로 감지해서 적용
+        assertThat(reloader.reload()).containsExactly("+fixed:vbs");
+        assertThat(reloader.isRetryPending()).isFalse();
+        assertThat(extensionPolicyConfig.getFixedExtensions()).contains("vbs");
+        assertThat(extensionPolicyHolder.current().isConfiguredFixed("vbs")).isTrue();
+        assertThat(extensionPolicyHolder.current().getConfigRevision()).isEqualTo(before.getConfigRevision() + 1);
+    }
+
+    private static void writeConfig(String yaml) throws Exception {
+        Path file = Path.of(CONFIG_FILE);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, yaml);
+    }
+}
@@ -0,0 +1,188 @@
+package com.file.service;
+
+import com.file.config.UploadStorageConfig;
+import com.file.entity.StoredBlob;
+import com.file.entity.UploadHistory;
+import com.file.repository.StoredBlobRepository;
+import com.file.repository.UploadHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 저장소: 같은 내용 중복 제거와 참조 수, 이력 삭제 시 참조 해제, 참조 없는 파일 GC
+@SpringBootTest
+@ActiveProfiles("test")
+class FileStorageServiceTests {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private FileUploadService fileUploadService;
+
+    @Autowired
+    private ContentAddressedStore contentAddressedStore;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private UploadHistoryRepository uploadHistoryRepository;
+
+    @Autowired
+    private UploadStorageConfig uploadStorageConfig;
+
+    private final long gracePeriodMs = new UploadStorageConfig().getGcGracePeriodMs();
+
+    @AfterEach
+    void restoreGracePeriod() {
+        uploadStorageConfig.setGcGracePeriodMs(gracePeriodMs);
+    }
+
+    @Test
+    void sameContentIsStoredOnceAndCountedPerHistory() throws Exception {
+        byte[] content = randomContent();
+        String first = fileStorageService.ingest(staged(content));
+        String second = fileStorageService.ingest(staged(content));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(Files.readAllBytes(contentAddressedStore.pathOf(first))).isEqualTo(content);
+        // 참조 수는 이력이 저장될 때 함께 올라감
+        assertThat(storedBlobRepository.findById(first)).isEmpty();
+
+        String a = record(first);
+        String b = record(first);
+        awaitTrue(() -> refCount(first) == 2L);
+
+        StoredBlob blob = storedBlobRepository.findById(first).orElseThrow();
+        assertThat(blob.getSize()).isEqualTo(content.length);
+        assertThat(history(a).getBlobDigest()).isEqualTo(first);
+        assertThat(history(b).getBlobDigest()).isEqualTo(first);
+    }
+
+    @Test
+    void deletingHistoryReleasesReferenceAndGcRemovesFileAfterGracePeriod() throws Exception {
+        String digest = fileStorageService.ingest(staged(randomContent()));
+        String a = record(digest);
+        String b = record(digest);
+        awaitTrue(() -> refCount(digest) == 2L);
+
+        assertThat(fileUploadService.deleteUploadHistory(history(a).getId())).isTrue();
+        assertThat(refCount(digest)).isEqualTo(1L);
+        assertThat(fileUploadService.deleteUploadHistory(history(b).getId())).isTrue();
+        assertThat(refCount(digest)).isZero();
+
+        // 유예 기간 안에는 지우지 않음
+        fileStorageService.collectGarbage();
+        assertThat(Files.exists(contentAddressedStore.pathOf(digest))).isTrue();
+
+        uploadStorageConfig.setGcGracePeriodMs(0L);
+        backdate(digest);
+        fileStorageService.collectGarbage();
+        assertThat(storedBlobRepository.findById(digest)).isEmpty();
+        assertThat(Files.exists(contentAddressedStore.pathOf(digest))).isFalse();
+    }
+
+    @Test
+    void gcKeepsUnreferencedContentThatWasJustStoredAgain() throws Exception {
+        byte[] content = randomContent();
+        String digest = fileStorageService.ingest(staged(content));
+        String a = record(digest);
+        awaitTrue(() -> refCount(digest) == 1L);
+        fileUploadService.deleteUploadHistory(history(a).getId());
+
+        // 참조 0인 행이 남은 상태에서 같은 내용이 다시 올라오고, 이력 저장 전에 GC가 실행
+        uploadStorageConfig.setGcGracePeriodMs(1000L);
+        backdate(digest);
+        Thread.sleep(1100L);
+        fileStorageService.ingest(staged(content));
+        fileStorageService.collectGarbage();
+
+        assertThat(Files.exists(contentAddressedStore.pathOf(digest))).isTrue();
+        String b = record(digest);
+        awaitTrue(() -> refCount(digest) == 1L);
+        assertThat(history(b).getBlobDigest()).isEqualTo(digest);
+    }
+
+    @Test
+    void gcRemovesOrphanFilesWithoutRowsAndKeepsReferencedOnes() throws Exception {
+        String orphan = fileStorageService.ingest(staged(randomContent()));  // 이력이 버려진 파일
+        String kept = fileStorageService.ingest(staged(randomContent()));
+        record(kept);
+        awaitTrue(() -> refCount(kept) == 1L);
+
+        uploadStorageConfig.setGcGracePeriodMs(0L);
+        backdate(orphan);
+        backdate(kept);
+        fileStorageService.collectGarbage();
+
+        assertThat(Files.exists(contentAddressedStore.pathOf(orphan))).isFalse();
+        assertThat(Files.exists(contentAddressedStore.pathOf(kept))).isTrue();
+    }
+
+    private Path staged(byte[] content) throws Exception {
+        Path staged = contentAddressedStore.newStagingFile();
+        Files.write(staged, content);
+        return staged;
+    }
+
+    // 고유한 파일명으로 허용 이력 기록 (저장은 UploadHistoryWriter가 비동기로)
+    private String record(String digest) {
+        String fileName = "stored-" + UUID.randomUUID() + ".bin";
+        fileUploadService.recordUploadAttempt(fileName, true, digest);
+        awaitTrue(() -> findHistory(fileName) != null);
+        return fileName;
+    }
+
+    private UploadHistory history(String fileName) {
+        UploadHistory history = findHistory(fileName);
+        assertThat(history).isNotNull();
+        return history;
+    }
+
+    private UploadHistory findHistory(String fileName) {
+        List<UploadHistory> all = uploadHistoryRepository.findAll();
+        return all.stream().filter(h -> fileName.equals(h.getFileName())).findFirst().orElse(null);
+    }
+
+    private long refCount(String digest) {
+        return storedBlobRepository.findById(digest).map(StoredBlob::getRefCount).orElse(-1L);
+    }
+
+    private void backdate(String digest) throws Exception {
+        Files.setLastModifiedTime(contentAddressedStore.pathOf(digest), FileTime.from(Instant.now().minusSeconds(3600)));
+    }
+
+    private static byte[] randomContent() {
+        byte[] content = new byte[4096];
+        new Random().nextBytes(content);
+        return HexFormat.of().formatHex(content).getBytes();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건 대기 시간 초과").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.file.service;
+
+import com.file.dto.PolicyOperation;
+import com.file.repository.CustomExtensionRepository;
+import com.file.repository.PolicyStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "file.extension.policy.max-custom-extensions=20")
+@ActiveProfiles("test")
+class PolicyBatchServiceTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PolicyBatchService policyBatchService;
+
+    @Autowired
+    private CustomExtensionService customExtensionService;
+
+    @Autowired
+    private PolicyStateService policyStateService;
+
+    @Autowired
+    private CustomExtensionRepository customExtensionRepository;
+
+    @Autowired
+    private PolicyStateRepository policyStateRepository;
+
+    @BeforeEach
+    void reset() {
+        customExtensionRepository.deleteAll();
+        policyStateService.reconcile();
+    }
+
+    @Test
+    void concurrentAddsNeverExceedMaxCustomExtensions() throws Exception {
+        AtomicInteger added = new AtomicInteger();
+
+        // 절반은 일괄 변경 API, 절반은 단건 추가 API로 동시에 80개 추가 시도 (최대 20개)
+        runConcurrently(thread -> {
+            for (int i = 0; i < 5; i++) {
+                String ext = "t" + thread + "e" + i;
+                if (thread % 2 == 0) {
+                    try {
+                        policyBatchService.applyBatch(List.of(new PolicyOperation(PolicyOperation.Type.ADD, ext, false)));
+                        added.incrementAndGet();
+                    } catch (PolicyMutationException ignored) {
+                        // 최대 개수 초과
+                    }
+                } else if (customExtensionService.addCustomExtension(ext)) {
+                    added.incrementAndGet();
+                }
+            }
+        });
+
+        assertThat(added.get()).isEqualTo(20);
+        assertThat(customExtensionRepository.count()).isEqualTo(20);
+        assertThat(policyStateRepository.findById(PolicyStateService.STATE_ID).orElseThrow().getCustomCount())
+                .isEqualTo(20);
+    }
+
+    @Test
+    void concurrentDuplicateAddsInsertOnce() throws Exception {
+        AtomicInteger added = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            try {
+                policyBatchService.applyBatch(List.of(new PolicyOperation(PolicyOperation.Type.ADD, "dup", false)));
+                added.incrementAndGet();
+            } catch (PolicyMutationException ignored) {
+                // 이미 존재
+            }
+        });
+
+        assertThat(added.get()).isEqualTo(1);
+        assertThat(customExtensionRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedOperationRollsBackWholeBatch() {
+        long versionBefore = policyStateRepository.findVersion(PolicyStateService.STATE_ID);
+
+        assertThatThrownBy(() -> policyBatchService.applyBatch(List.of(
+                new PolicyOperation(PolicyOperation.Type.TOGGLE, "exe", true),
+                new PolicyOperation(PolicyOperation.Type.ADD, "php", false),
+                new PolicyOperation(PolicyOperation.Type.REMOVE, "missing", false)
+        ))).isInstanceOf(PolicyMutationException.class);
+
+        assertThat(customExtensionRepository.count()).isZero();
+        assertThat(policyStateRepository.findVersion(PolicyStateService.STATE_ID)).isEqualTo(versionBefore);
+    }
+
+    @Test
+    void batchBumpsPolicyVersionOnce() {
+        long versionBefore = policyStateRepository.findVersion(PolicyStateService.STATE_ID);
+
+        policyBatchService.applyBatch(List.of(
+                new PolicyOperation(PolicyOperation.Type.TOGGLE, "exe", true),
+                new PolicyOperation(PolicyOperation.Type.TOGGLE, "bat", true),
+                new PolicyOperation(PolicyOperation.Type.ADD, "php", false)
+        ));
+
+        assertThat(policyStateRepository.findVersion(PolicyStateService.STATE_ID)).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void reconcileFixesCountWithoutTouchingVersion() {
+        policyBatchService.applyBatch(List.of(new PolicyOperation(PolicyOperation.Type.ADD, "php", false)));
+        long version = policyStateRepository.findVersion(PolicyStateService.STATE_ID);
+
+        // 다른 경로로 행이 지워져 개수가 어긋난 상태
+        customExtensionRepository.deleteAll();
+        policyStateService.reconcile();
+
+        assertThat(policyStateRepository.findById(PolicyStateService.STATE_ID).orElseThrow().getCustomCount()).isZero();
+        assertThat(policyStateRepository.findVersion(PolicyStateService.STATE_ID)).isEqualTo(version);
+    }
+
+    @Test
+    void reserveCreatesMissingStateRowInsteadOfReportingLimitExceeded() {
+        customExtensionService.addCustomExtension("php");
+
+        // 시작 시 초기화가 실패해서 정책 상태 행이 없는 상태
+        policyStateRepository.deleteAll();
+
+        assertThat(customExtensionService.addCustomExtension("jsp")).isTrue();
+        assertThat(policyStateRepository.findById(PolicyStateService.STATE_ID).orElseThrow().getCustomCount()).isEqualTo(2);
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
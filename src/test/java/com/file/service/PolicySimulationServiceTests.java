@@ -0,0 +1,110 @@
+package com.file.service;
+
+import com.file.config.ExtensionPolicyConfig;
+import com.file.config.UploadExportConfig;
+import com.file.dto.PolicyOperation;
+import com.file.dto.PolicySimulationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 정책 영향 시뮬레이션: 확장자별 판정 변화 집계와 작업 검증 (실제 정책은 그대로)
+class PolicySimulationServiceTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    private final ExtensionPolicyHolder extensionPolicyHolder = mock(ExtensionPolicyHolder.class);
+    private final CompiledExtensionPolicy livePolicy = new CompiledExtensionPolicy(5L, 0L, List.of("exe", "bat"),
+            Map.of("exe", true, "bat", false), List.of("sh"), 2, 20);
+
+    private JdbcTemplate jdbcTemplate;
+    private PolicySimulationService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:policy-simulation;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS upload_history");
+        jdbcTemplate.execute("CREATE TABLE upload_history (id BIGINT AUTO_INCREMENT PRIMARY KEY, filename VARCHAR(255) NOT NULL,"
+                + " extension VARCHAR(20), allowed BOOLEAN NOT NULL, upload_time TIMESTAMP NOT NULL, blob_digest VARCHAR(128))");
+
+        when(extensionPolicyHolder.current()).thenReturn(livePolicy);
+        PolicyBatchService policyBatchService = new PolicyBatchService(null, null, null, new ExtensionPolicyConfig());
+        service = new PolicySimulationService(extensionPolicyHolder, policyBatchService, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), new UploadExportConfig());
+    }
+
+    @Test
+    void reportsFlipsByExtension() {
+        insert("exe", false, 3, FROM);
+        insert("bat", true, 5, FROM.plusDays(1));
+        insert("sh", false, 2, FROM.plusDays(2));
+        insert("pdf", true, 9, FROM.plusDays(3));
+        insert("pdf", false, 1, FROM.plusDays(3)); // 내용 검사에서 차단된 시도
+        insert(null, true, 4, FROM.plusDays(4));
+        insert("bat", true, 7, TO);                // 기간 밖
+
+        PolicySimulationResponse result = service.simulate(FROM, TO, List.of(
+                new PolicyOperation(PolicyOperation.Type.TOGGLE, "bat", true),
+                new PolicyOperation(PolicyOperation.Type.REMOVE, "sh", false),
+                new PolicyOperation(PolicyOperation.Type.ADD, ".PDF", false)));
+
+        assertThat(result.getPolicyVersion()).isEqualTo(5L);
+        assertThat(result.getScannedAttempts()).isEqualTo(24L);
+        assertThat(result.getDistinctExtensions()).isEqualTo(5);
+        assertThat(result.getNewlyBlocked()).isEqualTo(15L);
+        assertThat(result.getNewlyAllowed()).isEqualTo(2L);
+        assertThat(result.getExtensions())
+                .extracting(PolicySimulationResponse.ExtensionImpact::getExtension,
+                        PolicySimulationResponse.ExtensionImpact::getChange,
+                        PolicySimulationResponse.ExtensionImpact::getAttempts,
+                        PolicySimulationResponse.ExtensionImpact::getRecordedAllowed)
+                .containsExactly(
+                        tuple("pdf", PolicySimulationResponse.ExtensionImpact.Change.NEWLY_BLOCKED, 10L, 9L),
+                        tuple("bat", PolicySimulationResponse.ExtensionImpact.Change.NEWLY_BLOCKED, 5L, 5L),
+                        tuple("sh", PolicySimulationResponse.ExtensionImpact.Change.NEWLY_ALLOWED, 2L, 0L));
+
+        // 실제 판정에 쓰는 스냅샷은 그대로
+        assertThat(extensionPolicyHolder.current()).isSameAs(livePolicy);
+        assertThat(livePolicy.isBlocked("pdf")).isFalse();
+        assertThat(livePolicy.isBlocked("bat")).isFalse();
+        assertThat(livePolicy.isBlocked("sh")).isTrue();
+    }
+
+    @Test
+    void rejectsOperationsTheBatchWouldReject() {
+        assertThatThrownBy(() -> service.simulate(FROM, TO, List.of(
+                new PolicyOperation(PolicyOperation.Type.TOGGLE, "zip", true))))
+                .isInstanceOf(PolicyMutationException.class);
+        assertThatThrownBy(() -> service.simulate(FROM, TO, List.of(
+                new PolicyOperation(PolicyOperation.Type.ADD, "exe", false))))
+                .isInstanceOf(PolicyMutationException.class);
+        assertThatThrownBy(() -> service.simulate(FROM, TO, List.of(
+                new PolicyOperation(PolicyOperation.Type.ADD, "php", false),
+                new PolicyOperation(PolicyOperation.Type.ADD, "jsp", false))))
+                .isInstanceOf(PolicyMutationException.class)
+                .hasMessageContaining("최대 개수");
+    }
+
+    private void insert(String extension, boolean allowed, int count, LocalDateTime time) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"file-" + i + (extension == null ? "" : "." + extension), extension, allowed, time});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO upload_history (filename, extension, allowed, upload_time) VALUES (?, ?, ?, ?)", rows);
+    }
+}
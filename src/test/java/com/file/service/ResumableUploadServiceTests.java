@@ -0,0 +1,208 @@
+package com.file.service;
+
+import com.file.config.ResumableUploadConfig;
+import com.file.config.UploadScanConfig;
+import com.file.config.UploadStorageConfig;
+import com.file.dto.UploadSessionResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 이어 올리기: 끊긴 위치부터 재개, 조각 단위 내용 검사, 만료 세션 정리
+class ResumableUploadServiceTests {
+
+    private static final Path WORK_DIR = Path.of("build", "tmp", "resumable-upload-test");
+
+    private final ResumableUploadConfig config = new ResumableUploadConfig();
+    private final UploadScanConfig scanConfig = new UploadScanConfig();
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final FileUploadService fileUploadService = mock(FileUploadService.class);
+
+    // 이름 검사 단계가 차단하는 확장자 (세션 도중 정책 변경을 흉내 낼 때 바꿈)
+    private volatile String blockedExtension = "exe";
+
+    private UploadScanPipeline pipeline;
+    private ResumableUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        FileSystemUtils.deleteRecursively(WORK_DIR.toFile());
+        config.setLocation(WORK_DIR.toString());
+        config.setSweepIntervalMs(0L);
+
+        ContentSignatureScanner contentSignature = new ContentSignatureScanner(scanConfig);
+        pipeline = new UploadScanPipeline(List.of(new BlockExeScanner(), contentSignature), scanConfig,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        service = new ResumableUploadService(config, new UploadStorageConfig(), pipeline,
+                List.of(contentSignature), fileStorageService, fileUploadService);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        pipeline.shutdown();
+    }
+
+    @Test
+    void resumesFromReceivedOffsetAfterDisconnect() throws Exception {
+        byte[] content = new byte[300_000];
+        new Random(7).nextBytes(content);
+        content[0] = 'P'; // 실행 파일 형식이 아닌 앞부분
+        String expectedDigest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        AtomicReference<byte[]> received = new AtomicReference<>();
+        when(fileStorageService.store(any(Path.class), eq(expectedDigest))).thenAnswer(invocation -> {
+            received.set(Files.readAllBytes(invocation.getArgument(0)));
+            return expectedDigest;
+        });
+
+        UploadSessionResponse session = service.create("video.mp4", "video/mp4", content.length);
+        assertThat(session.getUploadId()).isNotNull();
+        String id = session.getUploadId();
+
+        // 100,000 byte를 보낸 뒤 연결이 끊김
+        InputStream flaky = new SequenceInputStream(
+                new ByteArrayInputStream(content, 0, 100_000),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+        assertThatThrownBy(() -> service.append(id, 0L, flaky)).isInstanceOf(IOException.class);
+        assertThat(service.status(id).getOffset()).isEqualTo(100_000L);
+
+        // 받은 위치와 다른 곳부터 보내면 거부하고 받은 위치를 알려줌
+        assertThatThrownBy(() -> service.append(id, 0L, new ByteArrayInputStream(content)))
+                .isInstanceOfSatisfying(ResumableUploadException.class, e -> {
+                    assertThat(e.getReason()).isEqualTo(ResumableUploadException.Reason.OFFSET_MISMATCH);
+                    assertThat(e.getOffset()).isEqualTo(100_000L);
+                });
+
+        UploadSessionResponse done = service.append(id, 100_000L,
+                new ByteArrayInputStream(content, 100_000, content.length - 100_000));
+
+        assertThat(done.isCompleted()).isTrue();
+        assertThat(done.getAllowed()).isTrue();
+        assertThat(done.getStoredDigest()).isEqualTo(expectedDigest);
+        assertThat(received.get()).isEqualTo(content);
+        assertThat(service.getOpenSessions()).isZero();
+        verify(fileUploadService).recordUploadAttempt("video.mp4", true, expectedDigest);
+    }
+
+    @Test
+    void blockedNameIsRefusedBeforeAnyBytes() {
+        UploadSessionResponse refused = service.create("setup.exe", null, 1_000_000L);
+
+        assertThat(refused.getUploadId()).isNull();
+        assertThat(refused.getAllowed()).isFalse();
+        assertThat(refused.getBlockedBy()).isEqualTo("block-exe");
+        assertThat(service.getOpenSessions()).isZero();
+        verify(fileUploadService).recordUploadAttempt("setup.exe", false);
+    }
+
+    @Test
+    void executableSignatureIsBlockedOnFirstChunk() throws Exception {
+        byte[] content = new byte[1_000_000];
+        byte[] head = UploadScanPipelineTests.portableExecutable().getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(head, 0, content, 0, head.length);
+        String id = service.create("report.pdf", null, content.length).getUploadId();
+
+        UploadSessionResponse blocked = service.append(id, 0L, new ByteArrayInputStream(content));
+
+        assertThat(blocked.getAllowed()).isFalse();
+        assertThat(blocked.getBlockedBy()).isEqualTo("content-signature");
+        // 첫 버퍼만 읽고 나머지는 받지 않음
+        assertThat(blocked.getOffset()).isLessThanOrEqualTo(config.getBufferSize());
+        assertThat(service.getOpenSessions()).isZero();
+        assertThat(partFiles()).isEmpty();
+        verify(fileUploadService).recordUploadAttempt("report.pdf", false);
+    }
+
+    @Test
+    void blockedAtCompletionRemovesPartFile() throws Exception {
+        byte[] content = "plain text notes".getBytes(StandardCharsets.UTF_8);
+        String id = service.create("notes.txt", null, content.length).getUploadId();
+        assertThat(id).isNotNull();
+
+        // 세션 도중 txt가 차단 대상이 됨. 이름 검사에서 차단되어 내용 검사는 파일을 읽지 않음
+        blockedExtension = "txt";
+        UploadSessionResponse done = service.append(id, 0L, new ByteArrayInputStream(content));
+
+        assertThat(done.isCompleted()).isTrue();
+        assertThat(done.getAllowed()).isFalse();
+        assertThat(done.getBlockedBy()).isEqualTo("block-exe");
+        assertThat(service.getOpenSessions()).isZero();
+        assertThat(partFiles()).isEmpty();
+        verify(fileUploadService).recordUploadAttempt("notes.txt", false, null);
+    }
+
+    @Test
+    void idleSessionsExpire() throws Exception {
+        String id = service.create("archive.zip", null, 10L).getUploadId();
+        service.append(id, 0L, new ByteArrayInputStream(new byte[]{'P', 'K', 3, 4}));
+        assertThat(partFiles()).hasSize(1);
+
+        config.setExpireAfterMs(0L);
+        Thread.sleep(5L);
+
+        assertThat(service.expireIdleSessions()).isEqualTo(1);
+        assertThat(partFiles()).isEmpty();
+        assertThatThrownBy(() -> service.status(id))
+                .isInstanceOfSatisfying(ResumableUploadException.class,
+                        e -> assertThat(e.getReason()).isEqualTo(ResumableUploadException.Reason.NOT_FOUND));
+    }
+
+    private static List<Path> partFiles() throws IOException {
+        try (Stream<Path> files = Files.list(WORK_DIR)) {
+            return files.toList();
+        }
+    }
+
+    // 확장자 정책 대신 쓰는 이름 검사 단계
+    private final class BlockExeScanner implements UploadScanner {
+
+        @Override
+        public String getName() {
+            return "block-exe";
+        }
+
+        @Override
+        public int getCost() {
+            return 10;
+        }
+
+        @Override
+        public UploadScanVerdict scan(UploadScanContext context) {
+            return blockedExtension.equals(context.getExtension())
+                    ? UploadScanVerdict.block("차단된 확장자: " + blockedExtension)
+                    : UploadScanVerdict.allow();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.file.service;
+
+import com.file.config.UploadEventConfig;
+import com.file.dto.UploadHistoryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 업로드 판정 피드: Last-Event-ID 재전송, reset 조건, 대기열 초과 끊기, 멈춘 전송 떼어내기
+class UploadEventServiceTests {
+
+    private static final String RESET = "event:reset data:";
+
+    private final UploadEventConfig config = new UploadEventConfig();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private UploadEventService service;
+
+    @BeforeEach
+    void setUp() {
+        config.setHeartbeatIntervalMs(60_000L);
+        config.setSendTimeoutMs(60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(RecordingEmitter::release);
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void replaysEventsAfterLastEventIdFromSameBoot() {
+        start();
+        publish("a.txt", "b.txt", "c.txt");
+
+        RecordingEmitter emitter = subscribe(id(1));
+        publish("d.txt");
+
+        awaitTrue(() -> emitter.sent.size() == 3);
+        assertThat(emitter.sent).containsExactly(upload(2, "b.txt"), upload(3, "c.txt"), upload(4, "d.txt"));
+    }
+
+    @Test
+    void resetsWhenLastEventIdIsFromAnotherBoot() {
+        start();
+        publish("a.txt", "b.txt", "c.txt");
+
+        // 재시작 전 id는 번호가 이번 기동보다 작아도 같은 이벤트가 아님
+        RecordingEmitter previousBoot = subscribe((service.getEpoch() - 1) + "-1");
+        RecordingEmitter legacy = subscribe("2");
+        publish("d.txt");
+
+        awaitTrue(() -> previousBoot.sent.size() == 2 && legacy.sent.size() == 2);
+        assertThat(previousBoot.sent).containsExactly(RESET, upload(4, "d.txt"));
+        assertThat(legacy.sent).containsExactly(RESET, upload(4, "d.txt"));
+    }
+
+    @Test
+    void resetsWhenLastEventIdFellOutOfReplayBuffer() {
+        config.setReplaySize(2);
+        start();
+        publish("a.txt", "b.txt", "c.txt", "d.txt", "e.txt");
+
+        RecordingEmitter emitter = subscribe(id(1));
+
+        awaitTrue(() -> emitter.sent.size() == 3);
+        assertThat(emitter.sent).containsExactly(RESET, upload(4, "d.txt"), upload(5, "e.txt"));
+    }
+
+    @Test
+    void overflowingQueueDisconnectsOnlyThatSubscriber() throws Exception {
+        config.setSubscriberQueueSize(2);
+        start();
+        RecordingEmitter slow = subscribe(null);
+        RecordingEmitter fast = subscribe(null);
+        slow.block();
+
+        publish("a.txt");
+        assertThat(slow.sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        // 전송 중인 a 뒤로 대기열 2칸을 채우고 하나 더
+        publish("b.txt", "c.txt", "d.txt");
+
+        awaitTrue(() -> service.getDroppedSubscriberCount() == 1 && fast.sent.size() == 4);
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+        assertThat(slow.completed).isFalse(); // 멈춘 전송과 같은 잠금을 기다리지 않음
+
+        slow.release();
+        awaitTrue(() -> slow.completed);
+        assertThat(slow.sent).containsExactly(upload(1, "a.txt"));
+        assertThat(slow.error).isNull();
+    }
+
+    @Test
+    void stalledSendersAreDetachedWithoutGrowingThreadsBeyondCap() throws Exception {
+        config.setSendTimeoutMs(100L);
+        config.setDispatchThreads(1);
+        config.setMaxStalledSenders(1);
+        start();
+        RecordingEmitter first = subscribe(null);
+        RecordingEmitter second = subscribe(null);
+        RecordingEmitter third = subscribe(null);
+        // 인터럽트로 풀리지 않는 쓰기
+        first.block();
+        second.block();
+        third.block();
+
+        publish("a.txt");
+
+        // 첫 전송이 멈춤 → 떼어내고 스레드 하나 보충 → 둘째 전송도 멈춤 → 떼어내지만 더 보충하지 않음
+        awaitTrue(() -> service.getDroppedSubscriberCount() == 2);
+        assertThat(first.sendStarted.getCount()).isZero();
+        assertThat(second.sendStarted.getCount()).isZero();
+        assertThat(service.getStalledSenderCount()).isEqualTo(1);
+        assertThat(service.getSubscriberCount()).isEqualTo(1);
+        assertThat(third.sendStarted.getCount()).isEqualTo(1); // 전송 스레드가 모두 멈춰 아직 차례가 오지 않음
+
+        third.release();
+        first.release();
+        awaitTrue(() -> first.error != null && third.sent.size() == 1);
+        assertThat(service.getStalledSenderCount()).isZero();
+        assertThat(third.sent).containsExactly(upload(1, "a.txt"));
+
+        second.release();
+        awaitTrue(() -> second.error != null);
+        assertThat(first.completed).isFalse();
+    }
+
+    private void start() {
+        service = new UploadEventService(config) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMs);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        service.start();
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return (RecordingEmitter) service.subscribe(lastEventId);
+    }
+
+    private void publish(String... fileNames) {
+        for (String fileName : fileNames) {
+            service.publish(new UploadHistoryResponse(fileName, "txt", true, LocalDateTime.now()));
+        }
+    }
+
+    private String id(long sequence) {
+        return service.getEpoch() + "-" + sequence;
+    }
+
+    private String upload(long sequence, String fileName) {
+        return "id:" + id(sequence) + " event:" + UploadEventService.EVENT_UPLOAD + " data:" + fileName;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("조건 대기 시간 초과").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    // 보낸 이벤트를 한 줄로 기록하고, block() 중에는 인터럽트와 관계없이 전송을 멈추는 emitter
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        private RecordingEmitter(long timeout) {
+            super(timeout);
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sendStarted.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    gate.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            List<String> parts = new ArrayList<>();
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                Object data = part.getData();
+                parts.add(data instanceof UploadHistoryResponse response ? response.getFileName() : String.valueOf(data));
+            }
+            String text = String.join("", parts).replace("\n", " ").trim();
+            if (!text.startsWith(":")) {
+                sent.add(text);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            error = ex;
+            super.completeWithError(ex);
+        }
+    }
+}
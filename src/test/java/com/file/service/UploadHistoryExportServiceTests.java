@@ -0,0 +1,122 @@
+package com.file.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.file.config.UploadExportConfig;
+import com.file.dto.UploadHistoryExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 업로드 이력 내보내기: 실제 출력 byte 확인 (CSV 따옴표/수식 주입 방지, NDJSON, 기간/판정 필터)
+class UploadHistoryExportServiceTests {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UploadExportConfig config = new UploadExportConfig();
+
+    private JdbcTemplate jdbcTemplate;
+    private UploadHistoryExportService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:upload-history-export;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS upload_history");
+        jdbcTemplate.execute("CREATE TABLE upload_history (id BIGINT AUTO_INCREMENT PRIMARY KEY, filename VARCHAR(255) NOT NULL,"
+                + " extension VARCHAR(20), allowed BOOLEAN NOT NULL, upload_time TIMESTAMP NOT NULL, blob_digest VARCHAR(128))");
+
+        service = new UploadHistoryExportService(jdbcTemplate, new DataSourceTransactionManager(dataSource), config, objectMapper);
+
+        insert("plain.pdf", "pdf", true, FROM.plusDays(1), "ab12");
+        insert("=HYPERLINK(\"http://x\",\"y\").csv", "csv", false, FROM.plusDays(2), null);
+        insert("a,b.txt", "txt", true, FROM.plusDays(3), null);
+        insert("-2+3.xls", "xls", true, FROM.plusDays(4), null);
+        insert("line\nbreak.txt", "txt", false, FROM.plusDays(5), null);
+        insert("before.pdf", "pdf", true, FROM.minusSeconds(1), null);  // 기간 밖
+        insert("after.pdf", "pdf", true, TO, null);                     // to는 포함하지 않음
+    }
+
+    @Test
+    void csvQuotesFieldsAndEscapesFormulas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(FROM, TO, null, UploadHistoryExportFormat.CSV, out);
+
+        assertThat(rows).isEqualTo(5L);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,filename,extension,allowed,upload_time,blob_digest\r\n"
+                        + "1,plain.pdf,pdf,true,2025-01-02T00:00:00,ab12\r\n"
+                        + "2,\"'=HYPERLINK(\"\"http://x\"\",\"\"y\"\").csv\",csv,false,2025-01-03T00:00:00,\r\n"
+                        + "3,\"a,b.txt\",txt,true,2025-01-04T00:00:00,\r\n"
+                        + "4,'-2+3.xls,xls,true,2025-01-05T00:00:00,\r\n"
+                        + "5,\"line\nbreak.txt\",txt,false,2025-01-06T00:00:00,\r\n");
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLineAndFiltersByDecision() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(FROM, TO, false, UploadHistoryExportFormat.NDJSON, out);
+
+        assertThat(rows).isEqualTo(2L);
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).isEqualTo("{\"id\":2,\"fileName\":\"=HYPERLINK(\\\"http://x\\\",\\\"y\\\").csv\","
+                + "\"extension\":\"csv\",\"allowed\":false,\"uploadTime\":\"2025-01-03T00:00:00\",\"blobDigest\":null}");
+
+        // 줄바꿈이 든 파일명도 한 줄로 이스케이프
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(second.get("fileName").asText()).isEqualTo("line\nbreak.txt");
+        assertThat(second.get("allowed").asBoolean()).isFalse();
+    }
+
+    @Test
+    void exportsNothingButHeaderForEmptyRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(service.export(TO.plusDays(1), TO.plusDays(2), null, UploadHistoryExportFormat.CSV, out)).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,filename,extension,allowed,upload_time,blob_digest\r\n");
+    }
+
+    @Test
+    void streamingFetchSizeSwitchesToRowStreamingOnlyForMySqlWithoutCursorFetch() throws Exception {
+        assertThat(UploadHistoryExportService.streamingFetchSize(connection("MySQL", "jdbc:mysql://db/file"), 1000))
+                .isEqualTo(Integer.MIN_VALUE);
+        assertThat(UploadHistoryExportService.streamingFetchSize(connection("MySQL", "jdbc:mysql://db/file?useCursorFetch=true"), 1000))
+                .isEqualTo(1000);
+        assertThat(UploadHistoryExportService.streamingFetchSize(connection("H2", "jdbc:h2:mem:test"), 1000))
+                .isEqualTo(1000);
+    }
+
+    private static Connection connection(String product, String url) throws Exception {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+        when(metaData.getURL()).thenReturn(url);
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        return connection;
+    }
+
+    private void insert(String fileName, String extension, boolean allowed, LocalDateTime time, String digest) {
+        jdbcTemplate.update("INSERT INTO upload_history (filename, extension, allowed, upload_time, blob_digest) VALUES (?, ?, ?, ?, ?)",
+                fileName, extension, allowed, time, digest);
+    }
+}
@@ -0,0 +1,93 @@
+package com.file.service;
+
+import com.file.config.UploadHistoryConfig;
+import com.file.entity.UploadHistory;
+import com.file.repository.UploadHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 업로드 이력 비동기 저장: DB가 멈춰도 요청은 기다리지 않고, 넘치거나 실패한 이력은 버림
+class UploadHistoryWriterTests {
+
+    private final UploadHistoryRepository repository = mock(UploadHistoryRepository.class);
+    private final UploadHistoryConfig config = new UploadHistoryConfig();
+    private final FileStorageService fileStorageService = mock(FileStorageService.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final CountDownLatch releaseDb = new CountDownLatch(1);
+    private UploadHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseDb.countDown();
+        writer.stop();
+    }
+
+    @Test
+    void submitDoesNotWaitForStalledDatabaseAndDropsWhenFull() throws Exception {
+        CountDownLatch saving = new CountDownLatch(1);
+        List<List<String>> saved = new CopyOnWriteArrayList<>();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<UploadHistory> batch = invocation.getArgument(0);
+            saved.add(batch.stream().map(UploadHistory::getFileName).toList());
+            saving.countDown();
+            releaseDb.await();
+            return batch;
+        });
+        config.setQueueSize(2);
+        writer = new UploadHistoryWriter(repository, config, fileStorageService, transactionManager);
+        writer.start();
+
+        // 첫 이력은 저장 스레드가 가져가서 DB에서 멈춤
+        assertThat(writer.submit(history("a.txt"))).isTrue();
+        assertThat(saving.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long started = System.nanoTime();
+        assertThat(writer.submit(history("b.txt"))).isTrue();
+        assertThat(writer.submit(history("c.txt"))).isTrue();
+        assertThat(writer.submit(history("d.txt"))).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+        assertThat(writer.getPendingCount()).isEqualTo(2);
+
+        // DB가 돌아오면 대기 중이던 이력을 한 번에 저장
+        releaseDb.countDown();
+        verify(repository, timeout(5000).times(2)).saveAll(anyList());
+        assertThat(saved).containsExactly(List.of("a.txt"), List.of("b.txt", "c.txt"));
+    }
+
+    @Test
+    void failedSaveIsCountedAsDropped() throws Exception {
+        when(repository.saveAll(anyList())).thenThrow(new QueryTimeoutException("fault injected"));
+        writer = new UploadHistoryWriter(repository, config, fileStorageService, transactionManager);
+        writer.start();
+
+        writer.submit(history("a.txt"));
+
+        verify(repository, timeout(5000)).saveAll(anyList());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (writer.getDroppedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(writer.getDroppedCount()).isEqualTo(1);
+    }
+
+    private static UploadHistory history(String fileName) {
+        UploadHistory history = new UploadHistory();
+        history.setFileName(fileName);
+        return history;
+    }
+}
@@ -0,0 +1,211 @@
+package com.file.service;
+
+import com.file.config.UploadScanConfig;
+import com.file.dto.ScanStageResult;
+import com.file.dto.UploadScanReport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadScanPipelineTests {
+
+    private static final Path WORK_DIR = Path.of("build", "tmp", "upload-scan-test");
+
+    private final UploadScanConfig config = new UploadScanConfig();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UploadScanPipeline> pipelines = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        pipelines.forEach(UploadScanPipeline::shutdown);
+    }
+
+    @Test
+    void runsStagesByCostAndStopsAtFirstBlock() {
+        AtomicInteger expensiveCalls = new AtomicInteger();
+        UploadScanPipeline pipeline = pipeline(
+                stage("expensive", 500, false, 0L, () -> {
+                    expensiveCalls.incrementAndGet();
+                    return UploadScanVerdict.allow();
+                }),
+                stage("cheap-block", 5, false, 0L, () -> UploadScanVerdict.block("cheap")),
+                stage("cheapest", 1, false, 0L, UploadScanVerdict::allow));
+
+        UploadScanReport report = pipeline.scan(UploadScanContext.ofName("a.txt", null));
+
+        assertThat(report.isAllowed()).isFalse();
+        assertThat(report.getBlockedBy()).isEqualTo("cheap-block");
+        assertThat(report.getStages()).extracting(ScanStageResult::getStage)
+                .containsExactly("cheapest", "cheap-block", "expensive");
+        assertThat(report.getStages()).extracting(ScanStageResult::getStatus).containsExactly(
+                ScanStageResult.Status.ALLOWED, ScanStageResult.Status.BLOCKED, ScanStageResult.Status.SKIPPED);
+        assertThat(expensiveCalls).hasValue(0);
+        assertThat(meterRegistry.find("upload.scan.stage").tag("stage", "cheap-block").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void concurrentStagesTimeOutIndependently() {
+        config.setFailureAction(UploadScanConfig.FailureAction.ALLOW);
+        UploadScanPipeline pipeline = pipeline(
+                stage("slow", 100, true, 100L, () -> {
+                    Thread.sleep(5_000L);
+                    return UploadScanVerdict.allow();
+                }),
+                stage("fast", 100, true, 1_000L, UploadScanVerdict::allow));
+
+        long started = System.nanoTime();
+        UploadScanReport report = pipeline.scan(UploadScanContext.ofName("a.txt", null));
+
+        assertThat(elapsedMs(started)).isLessThan(1_000L);
+        assertThat(report.isAllowed()).isTrue();
+        assertThat(statusOf(report, "slow")).isEqualTo(ScanStageResult.Status.TIMEOUT);
+        assertThat(statusOf(report, "fast")).isEqualTo(ScanStageResult.Status.ALLOWED);
+
+        // 시간 초과를 차단으로 처리하는 설정 (기본값)
+        config.setFailureAction(UploadScanConfig.FailureAction.BLOCK);
+        report = pipeline.scan(UploadScanContext.ofName("a.txt", null));
+        assertThat(report.isAllowed()).isFalse();
+        assertThat(report.getBlockedBy()).isEqualTo("slow");
+    }
+
+    @Test
+    void blockingConcurrentStageCancelsTheOthers() {
+        UploadScanPipeline pipeline = pipeline(
+                stage("slow", 100, true, 10_000L, () -> {
+                    Thread.sleep(10_000L);
+                    return UploadScanVerdict.allow();
+                }),
+                stage("fast-block", 200, true, 10_000L, () -> UploadScanVerdict.block("found")));
+
+        long started = System.nanoTime();
+        UploadScanReport report = pipeline.scan(UploadScanContext.ofName("a.txt", null));
+
+        assertThat(elapsedMs(started)).isLessThan(2_000L);
+        assertThat(report.getBlockedBy()).isEqualTo("fast-block");
+        assertThat(statusOf(report, "slow")).isEqualTo(ScanStageResult.Status.SKIPPED);
+    }
+
+    @Test
+    @EnabledOnOs({OS.LINUX, OS.MAC})
+    void externalCommandStandInAndContentSignature() throws Exception {
+        // 백신 대신 문자열을 찾아 종료 코드 1을 내는 로컬 프로세스
+        config.getExternal().setCommand(List.of("sh", "-c",
+                "if grep -q EICAR-STANDIN \"$0\"; then echo 'Stand-In-Signature FOUND'; exit 1; fi; exit 0", "{file}"));
+        config.getExternal().setTimeoutMs(10_000L);
+        UploadScanPipeline pipeline = pipeline(new ContentSignatureScanner(config), new ExternalCommandScanner(config));
+
+        UploadScanReport clean = scanContent("notes.txt", "hello");
+        assertThat(clean.isAllowed()).isTrue();
+        assertThat(statusOf(clean, "external-command")).isEqualTo(ScanStageResult.Status.ALLOWED);
+
+        UploadScanReport infected = scanContent("notes.txt", "xx EICAR-STANDIN xx");
+        assertThat(infected.getBlockedBy()).isEqualTo("external-command");
+        assertThat(infected.getReason()).contains("FOUND");
+
+        // 이름만 바꾼 실행 파일은 싼 내용 검사에서 차단되어 외부 검사기를 실행하지 않음
+        UploadScanReport disguised = scanContent("report.pdf", portableExecutable() + " EICAR-STANDIN");
+        assertThat(disguised.getBlockedBy()).isEqualTo("content-signature");
+        assertThat(statusOf(disguised, "external-command")).isEqualTo(ScanStageResult.Status.SKIPPED);
+    }
+
+    @Test
+    void textStartingWithMzIsNotMistakenForExecutable() throws Exception {
+        pipeline(new ContentSignatureScanner(config));
+
+        // "MZ"로 시작하지만 PE 헤더가 없는 문서
+        assertThat(scanContent("notes.txt", "MZ notes: " + "x".repeat(200)).isAllowed()).isTrue();
+        // e_lfanew가 파일 밖을 가리키는 경우
+        StringBuilder truncated = new StringBuilder(portableExecutable());
+        truncated.setLength(0x80);
+        assertThat(scanContent("notes.txt", truncated.toString()).isAllowed()).isTrue();
+
+        assertThat(scanContent("notes.txt", portableExecutable()).getBlockedBy()).isEqualTo("content-signature");
+    }
+
+    // 최소한의 PE 앞부분: DOS 헤더 + e_lfanew(0x80) + "PE\0\0"
+    static String portableExecutable() {
+        char[] head = new char[0x98];
+        head[0] = 'M';
+        head[1] = 'Z';
+        head[0x3C] = 0x80;
+        head[0x80] = 'P';
+        head[0x81] = 'E';
+        return new String(head);
+    }
+
+    private UploadScanReport scanContent(String fileName, String content) throws Exception {
+        Files.createDirectories(WORK_DIR);
+        Path file = Files.createTempFile(WORK_DIR, "upload-", ".bin");
+        Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+        try (UploadScanContext context = new UploadScanContext(fileName, null, Files.size(file), () -> file, null)) {
+            return pipelines.get(0).scan(context);
+        }
+    }
+
+    private UploadScanPipeline pipeline(UploadScanner... scanners) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry));
+        UploadScanPipeline pipeline = new UploadScanPipeline(List.of(scanners), config, beans.getBeanProvider(MeterRegistry.class));
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    private static ScanStageResult.Status statusOf(UploadScanReport report, String stage) {
+        return report.getStages().stream()
+                .filter(result -> result.getStage().equals(stage))
+                .findFirst()
+                .orElseThrow()
+                .getStatus();
+    }
+
+    private static long elapsedMs(long started) {
+        return (System.nanoTime() - started) / 1_000_000L;
+    }
+
+    @FunctionalInterface
+    private interface Body {
+        UploadScanVerdict run() throws Exception;
+    }
+
+    private static UploadScanner stage(String name, int cost, boolean concurrent, long timeoutMs, Body body) {
+        return new UploadScanner() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int getCost() {
+                return cost;
+            }
+
+            @Override
+            public boolean isConcurrent() {
+                return concurrent;
+            }
+
+            @Override
+            public long getTimeoutMs() {
+                return timeoutMs;
+            }
+
+            @Override
+            public UploadScanVerdict scan(UploadScanContext context) throws Exception {
+                return body.run();
+            }
+        };
+    }
+}